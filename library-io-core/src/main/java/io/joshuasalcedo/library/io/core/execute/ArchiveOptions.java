@@ -0,0 +1,156 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+
+/**
+ * Options controlling how {@link Execute#zipTo(Path, ArchiveOptions)} and
+ * {@link Execute#tarGzTo(Path, ArchiveOptions)} compress each file.
+ *
+ * <p>By default every file is compressed at the default deflate level. The level can
+ * be changed for all files or chosen per file, and files that are already compressed
+ * can be stored without spending CPU on them.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Execute.on(Find.in("/var/log").matching("*").execute())
+ *     .tarGzTo(Paths.get("/archive/logs.tar.gz"), ArchiveOptions.defaults()
+ *         .level(1)
+ *         .skipCompressed())
+ *     .execute();
+ * </pre>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+public final class ArchiveOptions {
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+        "zip", "jar", "war", "ear", "gz", "tgz", "bz2", "xz", "zst", "lz4", "7z", "rar",
+        "jpg", "jpeg", "png", "gif", "webp", "heic", "avif",
+        "mp3", "aac", "ogg", "opus", "flac", "mp4", "m4a", "m4v", "mkv", "mov", "avi", "webm",
+        "docx", "xlsx", "pptx", "odt", "ods", "epub", "apk", "woff", "woff2");
+    static final int SAMPLE_SIZE = 4096;
+    private static final double INCOMPRESSIBLE_BITS_PER_BYTE = 7.5;
+
+    private int level = Deflater.DEFAULT_COMPRESSION;
+    private Function<Path, Integer> levelSelector = null;
+    private boolean skipCompressed = false;
+
+    private ArchiveOptions() {
+    }
+
+    /**
+     * Creates options that compress every file at the default deflate level.
+     *
+     * @return a new ArchiveOptions instance
+     */
+    public static ArchiveOptions defaults() {
+        return new ArchiveOptions();
+    }
+
+    /**
+     * Sets the compression level for all files: 0 stores, 1 is fastest, 9 is smallest.
+     *
+     * @param level the deflate level from 0 to 9
+     * @return this ArchiveOptions instance for method chaining
+     * @throws IllegalArgumentException if level is out of range
+     */
+    public ArchiveOptions level(int level) {
+        if (level < 0 || level > 9) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9: " + level);
+        }
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * Chooses the compression level per file. The selector may return null to use the
+     * level set by {@link #level(int)}.
+     *
+     * @param selector returns the deflate level from 0 to 9 for a file, or null
+     * @return this ArchiveOptions instance for method chaining
+     */
+    public ArchiveOptions levelFor(Function<Path, Integer> selector) {
+        this.levelSelector = selector;
+        return this;
+    }
+
+    /**
+     * Writes files that are already compressed at level 0 instead of deflating them again.
+     *
+     * <p>Files are recognized by well-known extensions (archives, images, audio, video
+     * and zip-based documents). Other files are sampled while they are archived: if the
+     * first 4KB are close to random (more than 7.5 bits of entropy per byte), the file is
+     * written at level 0 as well.</p>
+     *
+     * @return this ArchiveOptions instance for method chaining
+     */
+    public ArchiveOptions skipCompressed() {
+        this.skipCompressed = true;
+        return this;
+    }
+
+    /**
+     * Returns the deflate level to use for the given file. If the file has to be sampled,
+     * the sample is read from {@code in}, the stream that is being archived, and the
+     * stream is reset so the sampled bytes are still written.
+     *
+     * @param in the open content of the file; must support mark and reset
+     */
+    int levelOf(Path file, InputStream in) throws IOException {
+        if (levelSelector != null) {
+            Integer selected = levelSelector.apply(file);
+            if (selected != null) {
+                if (selected < 0 || selected > 9) {
+                    throw new IllegalArgumentException("Compression level must be between 0 and 9: " + selected);
+                }
+                return selected;
+            }
+        }
+        if (skipCompressed && isCompressed(file, in)) {
+            return Deflater.NO_COMPRESSION;
+        }
+        return level;
+    }
+
+    private static boolean isCompressed(Path file, InputStream in) throws IOException {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT))) {
+            return true;
+        }
+        return entropyOfSample(in) > INCOMPRESSIBLE_BITS_PER_BYTE;
+    }
+
+    /**
+     * Computes the Shannon entropy, in bits per byte, of the start of a stream, leaving
+     * the stream where it was.
+     */
+    private static double entropyOfSample(InputStream in) throws IOException {
+        in.mark(SAMPLE_SIZE);
+        byte[] sample = in.readNBytes(SAMPLE_SIZE);
+        in.reset();
+        // Too little data to judge; compressing it costs nothing anyway
+        if (sample.length < 256) {
+            return 0;
+        }
+        int[] counts = new int[256];
+        for (byte b : sample) {
+            counts[b & 0xFF]++;
+        }
+        double entropy = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                double p = (double) count / sample.length;
+                entropy -= p * (Math.log(p) / Math.log(2));
+            }
+        }
+        return entropy;
+    }
+}
@@ -0,0 +1,390 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A content-addressed backup store used by {@link Execute#backupDeduplicated(Path)}.
+ *
+ * <p>Every distinct file content is stored exactly once as a blob named after its
+ * SHA-256 hash. Each backup run writes a small manifest listing the files of that
+ * snapshot and the blobs holding their content, so repeated backups only add the
+ * data that changed.</p>
+ *
+ * <p>Store layout:</p>
+ * <pre>
+ * storeDir/
+ *   blobs/ab/abcdef...        one file per unique content hash
+ *   snapshots/snapshot_yyyyMMdd_HHmmss.manifest
+ * </pre>
+ *
+ * <p>A manifest is a UTF-8 text file with a header line followed by one line per file:
+ * {@code hash TAB size TAB lastModifiedMillis TAB relativePath}. Backslashes, tabs and
+ * line breaks in the path are written as {@code \\}, {@code \t}, {@code \n} and
+ * {@code \r}, so any file name fits on one line.</p>
+ *
+ * @author Joshua Salcedo
+ */
+class BackupStore {
+
+    private static final String MANIFEST_HEADER = "# execute-snapshot v2";
+    /** Header of manifests written before paths were escaped. */
+    private static final String MANIFEST_HEADER_V1 = "# execute-snapshot v1";
+    private static final String MANIFEST_SUFFIX = ".manifest";
+
+    private final Path blobsDir;
+    private final Path snapshotsDir;
+    private final RateLimiter rateLimiter;
+    private final Set<String> newBlobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * A single file recorded in a snapshot manifest.
+     */
+    record Entry(String hash, long size, long lastModified, String path) {
+    }
+
+    BackupStore(Path storeDir, RateLimiter rateLimiter) {
+        this.blobsDir = storeDir.resolve("blobs");
+        this.snapshotsDir = storeDir.resolve("snapshots");
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Opens the store that the given manifest belongs to.
+     */
+    static BackupStore forManifest(Path manifest) {
+        Path snapshots = manifest.toAbsolutePath().getParent();
+        if (snapshots == null || snapshots.getParent() == null) {
+            throw new IllegalArgumentException("Manifest is not inside a backup store: " + manifest);
+        }
+        return new BackupStore(snapshots.getParent(), null);
+    }
+
+    /**
+     * Lists the files a snapshot of the given sources would contain, keyed by their
+     * manifest path. Directories are expanded recursively.
+     *
+     * <p>Manifest paths are relative to the deepest directory containing all sources,
+     * so a single source {@code dir} keeps the key {@code dir/...}, and sources with the
+     * same file name in different directories ({@code a/config.txt},
+     * {@code b/config.txt}) get distinct keys.</p>
+     *
+     * @throws IOException if the sources do not share a root or two different files
+     *         would be stored under the same manifest path
+     */
+    static Map<String, Path> collectFiles(List<Path> sources) throws IOException {
+        Path root = commonRoot(sources);
+        Map<String, Path> files = new HashMap<>();
+        for (Path source : sources) {
+            Path absolute = source.toAbsolutePath().normalize();
+            if (!Files.isDirectory(absolute)) {
+                putUnique(files, root, absolute);
+                continue;
+            }
+            try (Stream<Path> tree = Files.walk(absolute)) {
+                for (Path file : (Iterable<Path>) tree.filter(Files::isRegularFile)::iterator) {
+                    putUnique(files, root, file);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Returns the deepest directory that contains every source.
+     */
+    private static Path commonRoot(List<Path> sources) throws IOException {
+        Path root = null;
+        for (Path source : sources) {
+            Path absolute = source.toAbsolutePath().normalize();
+            Path parent = absolute.getParent() != null ? absolute.getParent() : absolute;
+            if (root == null) {
+                root = parent;
+            }
+            while (root != null && !absolute.startsWith(root)) {
+                root = root.getParent();
+            }
+            if (root == null) {
+                throw new IOException("Sources do not share a common root directory: " + sources);
+            }
+        }
+        return root;
+    }
+
+    private static void putUnique(Map<String, Path> files, Path root, Path file) throws IOException {
+        String key = root.relativize(file).toString();
+        String separator = root.getFileSystem().getSeparator();
+        if (!separator.equals("/")) {
+            key = key.replace(separator, "/");
+        }
+        Path existing = files.putIfAbsent(key, file);
+        if (existing != null && !existing.equals(file)) {
+            throw new IOException("Two sources map to the same snapshot path " + key + ": " + existing + ", " + file);
+        }
+    }
+
+    /**
+     * Creates the store directories and returns the entries of the latest snapshot,
+     * keyed by manifest path.
+     *
+     * <p>A latest manifest that cannot be read is ignored rather than failing every
+     * later backup: the next snapshot then reads and hashes all files again.</p>
+     */
+    Map<String, Entry> open() throws IOException {
+        Files.createDirectories(blobsDir);
+        Files.createDirectories(snapshotsDir);
+        try {
+            Optional<Path> latest = latestManifest();
+            if (latest.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            return readEntries(latest.get()).stream()
+                .collect(Collectors.toMap(Entry::path, entry -> entry, (a, b) -> b));
+        } catch (IOException e) {
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Describes one file for a new snapshot, storing its content unless it matches the
+     * previous entry in size and modification time. Safe to call from several threads.
+     */
+    Entry describe(String name, Path file, Entry previous) throws IOException {
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        if (previous != null && previous.size() == size && previous.lastModified() == lastModified
+                && Files.exists(blobPath(previous.hash()))) {
+            return new Entry(previous.hash(), size, lastModified, name);
+        }
+        return store(name, file, lastModified);
+    }
+
+    /**
+     * Returns the number of blobs added to the store by {@link #describe}.
+     */
+    int newBlobCount() {
+        return newBlobs.size();
+    }
+
+    /**
+     * Writes the manifest of a new snapshot with the given entries, sorted by path.
+     *
+     * @return the manifest path
+     */
+    Path writeManifest(List<Entry> entries) throws IOException {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort((a, b) -> a.path().compareTo(b.path()));
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Path manifest = snapshotsDir.resolve("snapshot_" + timestamp + MANIFEST_SUFFIX);
+        for (int i = 1; Files.exists(manifest); i++) {
+            manifest = snapshotsDir.resolve("snapshot_" + timestamp + "_" + i + MANIFEST_SUFFIX);
+        }
+        Path temp = manifest.resolveSibling(manifest.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(MANIFEST_HEADER);
+            writer.newLine();
+            for (Entry entry : sorted) {
+                writer.write(entry.hash() + "\t" + entry.size() + "\t" + entry.lastModified() + "\t" + escape(entry.path()));
+                writer.newLine();
+            }
+        }
+        Files.move(temp, manifest, StandardCopyOption.ATOMIC_MOVE);
+        return manifest;
+    }
+
+    /**
+     * Restores every file of a snapshot under the target directory, in parallel.
+     */
+    List<Path> restore(Path manifest, Path targetDir) throws IOException {
+        List<Entry> entries = readEntries(manifest);
+        Path root = targetDir.toAbsolutePath().normalize();
+        Files.createDirectories(root);
+
+        try {
+            return entries.parallelStream()
+                .map(entry -> {
+                    Path target = root.resolve(entry.path()).normalize();
+                    if (!target.startsWith(root)) {
+                        throw new IllegalArgumentException("Manifest entry escapes target directory: " + entry.path());
+                    }
+                    try {
+                        Files.createDirectories(target.getParent());
+                        Files.copy(blobPath(entry.hash()), target, StandardCopyOption.REPLACE_EXISTING);
+                        Files.setLastModifiedTime(target, FileTime.fromMillis(entry.lastModified()));
+                        return target;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads the entries of a snapshot manifest.
+     */
+    static List<Entry> readEntries(Path manifest) throws IOException {
+        List<String> lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+        boolean escaped = !lines.isEmpty() && lines.get(0).equals(MANIFEST_HEADER);
+        if (!escaped && (lines.isEmpty() || !lines.get(0).equals(MANIFEST_HEADER_V1))) {
+            throw new IOException("Not a snapshot manifest: " + manifest);
+        }
+        List<Entry> entries = new ArrayList<>(lines.size() - 1);
+        for (int i = 1; i < lines.size(); i++) {
+            String[] fields = lines.get(i).split("\t", 4);
+            try {
+                if (fields.length != 4) {
+                    throw new IOException("Malformed manifest line " + (i + 1) + " in " + manifest);
+                }
+                entries.add(new Entry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                    escaped ? unescape(fields[3]) : fields[3]));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Malformed manifest line " + (i + 1) + " in " + manifest, e);
+            }
+        }
+        return entries;
+    }
+
+    Path blobPath(String hash) {
+        return blobsDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Escapes the characters that would break a manifest line.
+     */
+    static String escape(String path) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            String replacement = switch (c) {
+                case '\\' -> "\\\\";
+                case '\t' -> "\\t";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                default -> null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(path.length() + 8).append(path, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : path;
+    }
+
+    /**
+     * Reverses {@link #escape(String)}.
+     *
+     * @throws IllegalArgumentException if the path holds an unknown escape
+     */
+    static String unescape(String path) {
+        if (path.indexOf('\\') < 0) {
+            return path;
+        }
+        StringBuilder unescaped = new StringBuilder(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c != '\\') {
+                unescaped.append(c);
+                continue;
+            }
+            char next = ++i < path.length() ? path.charAt(i) : 0;
+            unescaped.append(switch (next) {
+                case '\\' -> '\\';
+                case 't' -> '\t';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                default -> throw new IllegalArgumentException("Invalid escape in manifest path: " + path);
+            });
+        }
+        return unescaped.toString();
+    }
+
+    private Optional<Path> latestManifest() throws IOException {
+        try (Stream<Path> manifests = Files.list(snapshotsDir)) {
+            return manifests
+                .filter(path -> path.getFileName().toString().endsWith(MANIFEST_SUFFIX))
+                .max((a, b) -> {
+                    try {
+                        return Files.getLastModifiedTime(a).compareTo(Files.getLastModifiedTime(b));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Copies the file into a temporary blob while hashing it, then moves the temporary
+     * blob to the name of its hash, or drops it if that content is already stored.
+     * Hashes of blobs this store adds are collected in {@code newBlobs}.
+     *
+     * <p>The file is read once, so the stored bytes are exactly the bytes that were
+     * hashed even if the file changes meanwhile. The size recorded is the number of
+     * bytes stored; the modification time is read before copying, so a file changed
+     * during the copy looks modified to the next snapshot.</p>
+     */
+    private Entry store(String name, Path file, long lastModified) throws IOException {
+        MessageDigest digest = newDigest();
+        Path temp = blobsDir.resolve(UUID.randomUUID() + ".tmp");
+        try {
+            long size;
+            try (InputStream in = Files.newInputStream(file);
+                 OutputStream out = new DigestOutputStream(
+                     Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), digest)) {
+                size = rateLimiter != null ? rateLimiter.transfer(in, out) : in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path blob = blobPath(hash);
+            // Only the first of several files with the same new content moves its copy in
+            if (!Files.exists(blob) && newBlobs.add(hash)) {
+                Files.createDirectories(blob.getParent());
+                Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new Entry(hash, size, lastModified, name);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import java.io.IOException;
+
+/**
+ * Decides whether an {@link Execute} run may proceed.
+ *
+ * <p>The policy is consulted once, before any operation runs, and is skipped in dry-run
+ * mode. A rejected run performs no operations and its {@link ExecuteReport} is marked
+ * as cancelled. Any lambda can serve as a callback policy, and the built-in policies
+ * can be combined with {@link #and(ConfirmationPolicy)}.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * // Unattended cleanup that refuses to touch more than 10,000 files or 50GB
+ * ExecuteReport report = Execute.on(files)
+ *     .withConfirmation(ConfirmationPolicy.maxFiles(10_000)
+ *         .and(ConfirmationPolicy.maxBytes(50L * 1024 * 1024 * 1024)))
+ *     .delete()
+ *     .executeWithReport();
+ *
+ * if (report.isCancelled()) {
+ *     alert("Cleanup refused: too much data selected");
+ * }
+ * </pre>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+@FunctionalInterface
+public interface ConfirmationPolicy {
+
+    /**
+     * Decides whether the run may proceed.
+     *
+     * @param request the planned run
+     * @return true to run the operations, false to cancel
+     * @throws IOException if the policy fails to inspect the paths
+     */
+    boolean approve(ConfirmationRequest request) throws IOException;
+
+    /**
+     * Returns a policy that requires both this and the other policy to approve.
+     * The other policy is not consulted if this one rejects.
+     *
+     * @param other the policy to check next
+     * @return the combined policy
+     * @throws IllegalArgumentException if other is null
+     */
+    default ConfirmationPolicy and(ConfirmationPolicy other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Policy cannot be null");
+        }
+        return request -> approve(request) && other.approve(request);
+    }
+
+    /**
+     * Returns a policy that approves every run.
+     *
+     * @return the approving policy
+     */
+    static ConfirmationPolicy autoApprove() {
+        return request -> true;
+    }
+
+    /**
+     * Returns a policy that approves runs on at most the given number of paths.
+     *
+     * @param maxFiles the largest path count to approve
+     * @return the threshold policy
+     */
+    static ConfirmationPolicy maxFiles(long maxFiles) {
+        return request -> request.getPathCount() <= maxFiles;
+    }
+
+    /**
+     * Returns a policy that approves runs whose paths total at most the given size.
+     *
+     * @param maxBytes the largest total size in bytes to approve
+     * @return the threshold policy
+     */
+    static ConfirmationPolicy maxBytes(long maxBytes) {
+        return request -> request.getTotalBytes() <= maxBytes;
+    }
+
+    /**
+     * Returns a policy that prints the message and waits for {@code y} on standard input.
+     * This blocks and is only suitable for interactive use.
+     *
+     * @return the console policy
+     */
+    static ConfirmationPolicy console() {
+        return request -> {
+            System.out.print(request.getMessage() + " (y/n): ");
+            try {
+                int response = System.in.read();
+                // Clear the input buffer
+                while (System.in.available() > 0) {
+                    System.in.read();
+                }
+                return response == 'y' || response == 'Y';
+            } catch (IOException e) {
+                return false;
+            }
+        };
+    }
+}
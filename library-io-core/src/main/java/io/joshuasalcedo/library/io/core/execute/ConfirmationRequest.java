@@ -0,0 +1,102 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Describes an {@link Execute} run that is waiting for a {@link ConfirmationPolicy}.
+ *
+ * <p>The path count is free. The total size is computed on first use by a parallel
+ * pre-pass that reads only file attributes, walking directories and not following
+ * symbolic links; policies that only look at the count never pay for it.</p>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+public final class ConfirmationRequest {
+
+    private final String message;
+    private final List<Path> paths;
+    private long totalBytes = -1;
+
+    ConfirmationRequest(String message, List<Path> paths) {
+        this.message = message;
+        this.paths = paths;
+    }
+
+    /**
+     * Returns the confirmation message, with {@code %d} replaced by the path count.
+     *
+     * @return the message to show
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the paths the run will operate on.
+     *
+     * @return an unmodifiable list of the input paths
+     */
+    public List<Path> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Returns the number of input paths.
+     *
+     * @return the path count
+     */
+    public int getPathCount() {
+        return paths.size();
+    }
+
+    /**
+     * Returns the total size of the input paths, including everything under directories.
+     *
+     * @return the total size in bytes
+     * @throws IOException if the attributes of a path cannot be read
+     */
+    public synchronized long getTotalBytes() throws IOException {
+        if (totalBytes < 0) {
+            try {
+                totalBytes = paths.parallelStream()
+                    .mapToLong(path -> {
+                        try {
+                            return sizeOf(path);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .sum();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return totalBytes;
+    }
+
+    private static long sizeOf(Path path) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        if (!attrs.isDirectory()) {
+            return attrs.size();
+        }
+        LongAdder total = new LongAdder();
+        Files.walkFileTree(path, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes fileAttrs) {
+                total.add(fileAttrs.size());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return total.sum();
+    }
+}
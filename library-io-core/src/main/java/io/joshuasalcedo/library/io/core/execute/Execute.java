@@ -1,18 +1,44 @@
 package io.joshuasalcedo.library.io.core.execute;
 
+import io.joshuasalcedo.library.io.core.find.Duplicates;
+import io.joshuasalcedo.library.io.core.find.Find;
+import io.joshuasalcedo.library.io.core.progress.ProgressListener;
+import io.joshuasalcedo.library.io.core.progress.ProgressTracker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 /**
@@ -54,12 +80,29 @@ import java.util.zip.ZipOutputStream;
  */
 public class Execute {
     
+    private static final int STREAM_BUFFER = 8 * 1024;
+    private static final Path END_OF_MATCHES = Paths.get("");
+
     private final List<Path> paths;
+    private final Find source;
+    private Predicate<Path> sourceFilter = path -> true;
+    private boolean streamable = true;
     private final List<Operation> operations = new ArrayList<>();
     private boolean dryRun = false;
     private boolean verbose = false;
     private String confirmationMessage = null;
+    private ConfirmationPolicy confirmationPolicy = null;
     private Consumer<String> logger = System.out::println;
+    private ExecuteEventSink eventSink = null;
+    private Path journalFile = null;
+    private Journal journal = null;
+    private boolean continueOnError = false;
+    private boolean fullReport = false;
+    private RateLimiter rateLimiter = null;
+    private ProgressListener progressListener = null;
+    private Duration progressInterval = ProgressTracker.DEFAULT_INTERVAL;
+    private ProgressTracker progress = null;
+    private ExecuteReport report = null;
     
     /**
      * Represents a file operation to be executed.
@@ -68,6 +111,23 @@ public class Execute {
     private interface Operation {
         List<Path> execute(List<Path> paths) throws IOException;
     }
+
+    /**
+     * Represents the work an operation does for a single path, returning the number of
+     * bytes it copied, wrote or deleted.
+     */
+    @FunctionalInterface
+    private interface PathAction {
+        long apply() throws IOException;
+    }
+
+    /**
+     * Represents the work done for one position of a batch.
+     */
+    @FunctionalInterface
+    private interface IndexAction {
+        void apply(int index) throws IOException;
+    }
     
     /**
      * Private constructor to enforce fluent API usage.
@@ -76,6 +136,17 @@ public class Execute {
      */
     private Execute(List<Path> paths) {
         this.paths = new ArrayList<>(paths);
+        this.source = null;
+    }
+
+    /**
+     * Private constructor for runs that take their paths from a search.
+     *
+     * @param source the search producing the paths to operate on
+     */
+    private Execute(Find source) {
+        this.paths = new ArrayList<>();
+        this.source = source;
     }
     
     /**
@@ -107,6 +178,44 @@ public class Execute {
         singlePath.add(path);
         return new Execute(singlePath);
     }
+
+    /**
+     * Creates a new Execute builder that operates on the matches of a search as the
+     * walk produces them.
+     *
+     * <p>The search runs on a background thread while the operations run on the thread
+     * calling {@code execute()}. Matches are handed over in batches as soon as they are
+     * found, so copying or deleting starts with the first match and overlaps with the
+     * rest of the traversal, and no complete list of matches is ever built.</p>
+     *
+     * <p>Operations that need every path at once ({@link #duplicatesOnly()},
+     * {@link #rename(Function)}, {@link #zipTo(Path)},
+     * {@link #backupDeduplicated(Path)} and {@code syncTo} with
+     * orphan deletion) and confirmation policies make the run collect all matches first,
+     * as {@code Execute.on(find.execute())} would. Targets inside the searched tree may
+     * be visited by the walk after they were written; keep them outside of it.</p>
+     *
+     * <pre>
+     * Execute.from(Find.in("/var/log").matching("*.log"))
+     *     .delete()
+     *     .execute();
+     * </pre>
+     *
+     * @param find the configured search
+     * @return a new Execute builder instance
+     * @throws IllegalArgumentException if find is null or searches inside archives
+     */
+    public static Execute from(Find find) {
+        if (find == null) {
+            throw new IllegalArgumentException("Find cannot be null");
+        }
+        if (find.isSearchingInsideArchives()) {
+            throw new IllegalArgumentException(
+                "Archive entries cannot be operated on once the walk has closed their archive; " +
+                "search for the archives themselves instead of using insideArchives()");
+        }
+        return new Execute(find);
+    }
     
     /**
      * Enables dry-run mode where operations are logged but not executed.
@@ -141,15 +250,160 @@ public class Execute {
         }
         return this;
     }
+
+    /**
+     * Sends a structured event for every handled path to the given sink.
+     *
+     * <p>Without a sink, verbose runs format each path into a String and pass it to the
+     * logger. With a sink, per-path events go to the sink whether or not verbose is
+     * enabled, and only the per-operation summaries still go to the logger. Pair it
+     * with {@link AsyncEventWriter} or {@link ExecuteEventSink#slf4j} to keep large
+     * verbose runs about as cheap as silent ones.</p>
+     *
+     * @param sink the event sink, which must be thread-safe
+     * @return this Execute instance for method chaining
+     */
+    public Execute withEventSink(ExecuteEventSink sink) {
+        this.eventSink = sink;
+        return this;
+    }
     
     /**
-     * Requires user confirmation before executing operations.
+     * Requires user confirmation on the console before executing operations.
      *
      * @param message the confirmation message (use %d for file count)
      * @return this Execute instance for method chaining
+     * @see ConfirmationPolicy#console()
      */
     public Execute withConfirmation(String message) {
+        return withConfirmation(message, ConfirmationPolicy.console());
+    }
+
+    /**
+     * Requires the given policy to approve the run before executing operations.
+     *
+     * <p>Use this instead of the console prompt for unattended runs, e.g. with a
+     * threshold from {@link ConfirmationPolicy#maxFiles(long)} or
+     * {@link ConfirmationPolicy#maxBytes(long)}.</p>
+     *
+     * @param policy the confirmation policy
+     * @return this Execute instance for method chaining
+     */
+    public Execute withConfirmation(ConfirmationPolicy policy) {
+        return withConfirmation("Execute operations on %d paths?", policy);
+    }
+
+    /**
+     * Requires the given policy to approve the run before executing operations.
+     *
+     * @param message the confirmation message passed to the policy (use %d for file count)
+     * @param policy the confirmation policy
+     * @return this Execute instance for method chaining
+     * @throws IllegalArgumentException if policy is null
+     */
+    public Execute withConfirmation(String message, ConfirmationPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy cannot be null");
+        }
         this.confirmationMessage = message;
+        this.confirmationPolicy = policy;
+        return this;
+    }
+
+    /**
+     * Records move and rename operations in a write-ahead journal.
+     *
+     * <p>Intended moves are appended to the journal and synced in batches before they
+     * run. The journal is deleted when {@link #execute()} completes. If the run dies
+     * halfway, the journal remains and {@link Journal#recover(Path, Journal.Recovery)}
+     * can roll the run forward or back. Executing with a journal left by an interrupted
+     * run fails until it has been recovered.</p>
+     *
+     * @param journalFile the journal file
+     * @return this Execute instance for method chaining
+     */
+    public Execute withJournal(Path journalFile) {
+        this.journalFile = journalFile;
+        return this;
+    }
+
+    /**
+     * Keeps going when an operation fails for an individual path.
+     *
+     * <p>By default the first failure aborts the whole chain. With this policy the
+     * failure is recorded in the {@link ExecuteReport}, the path is dropped from the
+     * operation's output, and the remaining paths are still processed. Use
+     * {@link #executeWithReport()} to inspect failures and retry them.</p>
+     *
+     * @return this Execute instance for method chaining
+     */
+    public Execute continueOnError() {
+        this.continueOnError = true;
+        return this;
+    }
+
+    /**
+     * Keeps the result of every path in the {@link ExecuteReport}.
+     *
+     * <p>By default a report only counts outcomes and keeps the failed results, so its
+     * size does not grow with the number of paths. With this option
+     * {@link ExecuteReport#getResults()} returns the result of every path, which holds
+     * one object per path and operation for the whole run.</p>
+     *
+     * @return this Execute instance for method chaining
+     */
+    public Execute withFullReport() {
+        this.fullReport = true;
+        return this;
+    }
+
+    /**
+     * Throttles the run with the given limiter.
+     *
+     * <p>Every file operation takes one operation token, and copies (including
+     * {@code copyTo}, {@code backup}, {@code syncTo} and {@code zipTo}) take byte tokens
+     * as they stream data, as do the content reads of {@code duplicatesOnly} and
+     * {@code backupDeduplicated}. Keep a reference to the limiter to change its rates while
+     * the job is running.</p>
+     *
+     * @param rateLimiter the limiter shared by all operations and worker threads
+     * @return this Execute instance for method chaining
+     */
+    public Execute withRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    /**
+     * Reports progress to the listener once per second while the run is going.
+     *
+     * @param listener the progress listener
+     * @return this Execute instance for method chaining
+     * @see #withProgress(ProgressListener, Duration)
+     */
+    public Execute withProgress(ProgressListener listener) {
+        return withProgress(listener, ProgressTracker.DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Reports progress to the listener at the given interval while the run is going.
+     *
+     * <p>Every path recorded in the {@link ExecuteReport} counts as one processed item.
+     * The expected total grows as each operation of a chain starts, by the number of
+     * paths that operation receives, so the ETA refers to the operations started so
+     * far. A final sample is delivered when the run ends, even if it fails.</p>
+     *
+     * @param listener the progress listener
+     * @param interval the time between samples
+     * @return this Execute instance for method chaining
+     * @throws IllegalArgumentException if listener is null
+     */
+    public Execute withProgress(ProgressListener listener, Duration interval) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.progressListener = listener;
+        this.progressInterval = interval;
         return this;
     }
     
@@ -161,11 +415,60 @@ public class Execute {
      */
     public Execute filter(Predicate<Path> predicate) {
         if (predicate != null) {
-            paths.removeIf(predicate.negate());
+            if (source != null) {
+                sourceFilter = sourceFilter.and(predicate);
+            } else {
+                paths.removeIf(predicate.negate());
+            }
         }
         return this;
     }
     
+    /**
+     * Narrows the current paths down to redundant duplicate copies.
+     *
+     * <p>Files are grouped by identical content using {@link Duplicates}; the first path
+     * of each group (in natural path order) is dropped and the remaining copies are
+     * passed on to the next operation. Unique files are dropped as well. The files are
+     * read at the byte rate of the {@link RateLimiter}, if one is set.</p>
+     *
+     * <pre>
+     * // Remove duplicate copies, keeping one of each
+     * Execute.on(Find.in("/share").matching("*").execute())
+     *     .duplicatesOnly()
+     *     .delete()
+     *     .execute();
+     * </pre>
+     *
+     * @return this Execute instance for method chaining
+     */
+    public Execute duplicatesOnly() {
+        streamable = false;
+        operations.add(paths -> {
+            Duplicates duplicates = Duplicates.among(paths);
+            if (rateLimiter != null) {
+                duplicates.withReadThrottle(bytes -> {
+                    try {
+                        rateLimiter.acquireBytes(bytes);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            List<Path> redundant;
+            try {
+                redundant = duplicates.redundant();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (verbose) {
+                log("Found " + redundant.size() + " redundant duplicates among " + paths.size() + " paths");
+            }
+            return redundant;
+        });
+        return this;
+    }
+
     /**
      * Copies all paths to the specified directory.
      *
@@ -189,13 +492,9 @@ public class Execute {
             
             for (Path source : paths) {
                 Path target = targetDir.resolve(source.getFileName());
-                if (verbose) {
-                    log("Copying: " + source + " -> " + target);
-                }
-                if (!dryRun) {
-                    Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                if (perform(ExecuteEvent.Operation.COPY, source, target, () -> copyFile(source, target, false))) {
+                    results.add(target);
                 }
-                results.add(target);
             }
             return results;
         });
@@ -215,25 +514,19 @@ public class Execute {
     /**
      * Moves all paths to the specified directory.
      *
+     * <p>Paths on the same file store as the target directory are renamed atomically
+     * and in parallel. Regular files on another device are copied in parallel, their
+     * size is verified, and the sources of each batch are deleted only after the whole
+     * batch has been copied; an interrupted run never loses a file.</p>
+     *
      * @param targetDir the target directory
      * @return this Execute instance for method chaining
      */
     public Execute moveTo(Path targetDir) {
         operations.add(paths -> {
-            List<Path> results = new ArrayList<>();
             Files.createDirectories(targetDir);
-            
-            for (Path source : paths) {
-                Path target = targetDir.resolve(source.getFileName());
-                if (verbose) {
-                    log("Moving: " + source + " -> " + target);
-                }
-                if (!dryRun) {
-                    Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
-                }
-                results.add(target);
-            }
-            return results;
+            return applyMoves(paths, source -> targetDir.resolve(source.getFileName()), ExecuteEvent.Operation.MOVE,
+                Files.getFileStore(targetDir));
         });
         return this;
     }
@@ -248,17 +541,23 @@ public class Execute {
             List<Path> deleted = new ArrayList<>();
             
             for (Path path : paths) {
-                if (verbose) {
-                    log("Deleting: " + path);
-                }
-                if (!dryRun) {
-                    if (Files.isDirectory(path)) {
+                boolean success = perform(ExecuteEvent.Operation.DELETE, path, null, () -> {
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (NoSuchFileException e) {
+                        return 0;
+                    }
+                    if (attrs.isDirectory()) {
                         deleteRecursively(path);
-                    } else {
-                        Files.deleteIfExists(path);
+                        return 0;
                     }
+                    Files.deleteIfExists(path);
+                    return attrs.isRegularFile() ? attrs.size() : 0;
+                });
+                if (success) {
+                    deleted.add(path);
                 }
-                deleted.add(path);
             }
             return deleted;
         });
@@ -268,28 +567,23 @@ public class Execute {
     /**
      * Renames files using the provided function.
      *
+     * <p>All new names are planned before anything is moved. A rename never replaces
+     * another file: if two paths map to the same name, or the new name is taken by a
+     * file that is not being renamed, the paths involved fail and stay where they are.
+     * Chains and swaps such as {@code a -> b, b -> a} are carried out in two phases
+     * through temporary names, and the moves of each phase run in parallel. The plan
+     * needs all paths at once, so {@link #from(Find)} collects all matches first.</p>
+     *
      * @param renamer function that takes old filename and returns new filename
      * @return this Execute instance for method chaining
      */
     public Execute rename(Function<String, String> renamer) {
-        operations.add(paths -> {
-            List<Path> results = new ArrayList<>();
-            
-            for (Path source : paths) {
-                String oldName = source.getFileName().toString();
-                String newName = renamer.apply(oldName);
-                Path target = source.getParent().resolve(newName);
-                
-                if (verbose) {
-                    log("Renaming: " + source + " -> " + target);
-                }
-                if (!dryRun) {
-                    Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
-                }
-                results.add(target);
-            }
-            return results;
-        });
+        streamable = false;
+        operations.add(paths -> applyRenames(RenamePlan.of(paths, source -> {
+            String oldName = source.getFileName().toString();
+            String newName = renamer.apply(oldName);
+            return source.resolveSibling(newName);
+        })));
         return this;
     }
     
@@ -321,19 +615,214 @@ public class Execute {
             
             for (Path source : paths) {
                 Path target = timestampedDir.resolve(source.getFileName());
-                if (verbose) {
-                    log("Backing up: " + source + " -> " + target);
+                if (perform(ExecuteEvent.Operation.BACKUP, source, target, () -> copyFile(source, target, false))) {
+                    results.add(target);
                 }
-                if (!dryRun) {
-                    Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return results;
+        });
+        return this;
+    }
+
+    /**
+     * Creates a deduplicated snapshot of all paths in a content-addressed backup store.
+     *
+     * @param storeDir the backup store directory
+     * @return this Execute instance for method chaining
+     * @see #backupDeduplicated(Path)
+     */
+    public Execute backupDeduplicated(String storeDir) {
+        return backupDeduplicated(Paths.get(storeDir));
+    }
+
+    /**
+     * Creates a deduplicated snapshot of all paths in a content-addressed backup store.
+     *
+     * <p>Unlike {@link #backup(Path)}, file contents are stored once per unique SHA-256
+     * hash under {@code storeDir/blobs}, and each run only writes a small manifest under
+     * {@code storeDir/snapshots} plus the blobs that are new. Directories are included
+     * recursively and files are recorded by their path relative to the deepest directory
+     * containing all paths. Files unchanged in size and modification time since the
+     * previous snapshot are not read again; all others are hashed while being copied
+     * into the store, in parallel. A previous snapshot whose manifest cannot be read is
+     * ignored, so every file is read again. Each file is recorded in the
+     * {@link ExecuteReport} with the store directory as target; with
+     * {@link #continueOnError()}, files that fail are left out of the snapshot.</p>
+     *
+     * <p>The resulting path is the snapshot manifest, which can be passed to
+     * {@link #restore(Path, Path)}.</p>
+     *
+     * @param storeDir the backup store directory
+     * @return this Execute instance for method chaining
+     */
+    public Execute backupDeduplicated(Path storeDir) {
+        streamable = false;
+        operations.add(paths -> {
+            Map<String, Path> files = BackupStore.collectFiles(paths);
+            if (progress != null) {
+                // Directories expand into one entry per file
+                progress.addTotal(files.size() - paths.size(), -1);
+            }
+            List<String> names = new ArrayList<>(files.keySet());
+            if (dryRun) {
+                for (String name : names) {
+                    perform(ExecuteEvent.Operation.BACKUP, files.get(name), storeDir, () -> 0);
+                }
+                return new ArrayList<>();
+            }
+
+            BackupStore store = new BackupStore(storeDir, rateLimiter);
+            Map<String, BackupStore.Entry> previous = store.open();
+            BackupStore.Entry[] entries = new BackupStore.Entry[names.size()];
+            forEachIndex(0, names.size(), true, i -> {
+                String name = names.get(i);
+                Path source = files.get(name);
+                perform(ExecuteEvent.Operation.BACKUP, source, storeDir, () -> {
+                    entries[i] = store.describe(name, source, previous.get(name));
+                    return entries[i].size();
+                });
+            });
+
+            // Files that failed under continueOnError are left out of the snapshot
+            List<BackupStore.Entry> stored = new ArrayList<>(entries.length);
+            for (BackupStore.Entry entry : entries) {
+                if (entry != null) {
+                    stored.add(entry);
+                }
+            }
+            Path manifest = store.writeManifest(stored);
+            if (verbose) {
+                log("Snapshot written: " + manifest + " (" + stored.size() + " files, " +
+                    store.newBlobCount() + " new blobs)");
+            }
+
+            List<Path> result = new ArrayList<>();
+            result.add(manifest);
+            return result;
+        });
+        return this;
+    }
+
+    /**
+     * Restores a snapshot written by {@link #backupDeduplicated(Path)} into a directory.
+     *
+     * <p>Files are copied out of the backup store in parallel and get their recorded
+     * modification time back. Existing files at the same locations are replaced.</p>
+     *
+     * @param manifest the snapshot manifest inside a backup store's {@code snapshots} directory
+     * @param targetDir the directory to restore into
+     * @return the restored file paths
+     * @throws IOException if the manifest cannot be read or a file cannot be restored
+     * @throws IllegalArgumentException if manifest or targetDir is null
+     */
+    public static List<Path> restore(Path manifest, Path targetDir) throws IOException {
+        if (manifest == null || targetDir == null) {
+            throw new IllegalArgumentException("Manifest and target directory cannot be null");
+        }
+        return BackupStore.forManifest(manifest).restore(manifest, targetDir);
+    }
+
+    /**
+     * Synchronizes all paths into the specified directory, copying only changed files.
+     *
+     * @param targetDir the target directory
+     * @return this Execute instance for method chaining
+     * @see #syncTo(Path, SyncOptions)
+     */
+    public Execute syncTo(String targetDir) {
+        return syncTo(Paths.get(targetDir));
+    }
+
+    /**
+     * Synchronizes all paths into the specified directory, copying only changed files.
+     *
+     * @param targetDir the target directory
+     * @return this Execute instance for method chaining
+     * @see #syncTo(Path, SyncOptions)
+     */
+    public Execute syncTo(Path targetDir) {
+        return syncTo(targetDir, SyncOptions.defaults());
+    }
+
+    /**
+     * Synchronizes all paths into the specified directory, copying only changed files.
+     *
+     * <p>Files are placed in the target directory the same way as {@link #copyTo(Path)};
+     * directories are mirrored recursively. A target file is left untouched when its
+     * size and last-modified time match the source (and, if requested, its content).
+     * Copies preserve the source timestamps so the next sync can skip them.</p>
+     *
+     * <p>The up-to-date checks and the copies run in parallel. The resulting paths are
+     * the targets that were written or already up to date; with
+     * {@link #continueOnError()}, a target that failed, or a directory with a failure
+     * inside it, is left out.</p>
+     *
+     * @param targetDir the target directory
+     * @param options the sync options, or null for {@link SyncOptions#defaults()}
+     * @return this Execute instance for method chaining
+     */
+    public Execute syncTo(Path targetDir, SyncOptions options) {
+        SyncOptions syncOptions = options != null ? options : SyncOptions.defaults();
+        if (syncOptions.isDeleteOrphans()) {
+            streamable = false;
+        }
+
+        operations.add(paths -> {
+            List<Path> targets = new ArrayList<>(paths.size());
+            List<SyncPair> pairs = new ArrayList<>();
+            if (!dryRun) {
+                Files.createDirectories(targetDir);
+            }
+
+            for (Path source : paths) {
+                Path target = targetDir.resolve(source.getFileName());
+                collectSyncPairs(source, target, pairs);
+                targets.add(target);
+            }
+            if (progress != null) {
+                // Directories expand into one pair per entry
+                progress.addTotal(pairs.size() - paths.size(), -1);
+            }
+
+            List<SyncPair> changed = pairs.parallelStream()
+                .filter(pair -> isOutOfDate(pair, syncOptions))
+                .collect(Collectors.toList());
+            if (changed.size() < pairs.size()) {
+                Set<SyncPair> changedSet = new HashSet<>(changed);
+                for (SyncPair pair : pairs) {
+                    if (!changedSet.contains(pair)) {
+                        skip(ExecuteEvent.Operation.SYNC, pair.source(), pair.target());
+                    }
+                }
+            }
+
+            Set<Path> failed = copyChanged(changed);
+
+            // In a dry run the target directory may not exist yet, so there is nothing to delete
+            if (syncOptions.isDeleteOrphans() && Files.isDirectory(targetDir)) {
+                Set<Path> expected = pairs.stream()
+                    .map(SyncPair::target)
+                    .collect(Collectors.toSet());
+                deleteOrphans(targetDir, expected);
+            }
+
+            if (verbose) {
+                log("Synced " + changed.size() + " of " + pairs.size() + " paths (" +
+                    (pairs.size() - changed.size()) + " unchanged)");
+            }
+
+            // A directory is only passed on if nothing inside it failed
+            List<Path> results = new ArrayList<>(targets.size());
+            for (Path target : targets) {
+                if (failed.stream().noneMatch(path -> path.startsWith(target))) {
+                    results.add(target);
                 }
-                results.add(target);
             }
             return results;
         });
         return this;
     }
-    
+
     /**
      * Creates a zip archive containing all paths.
      *
@@ -351,6 +840,28 @@ public class Execute {
      * @return this Execute instance for method chaining
      */
     public Execute zipTo(Path zipFile) {
+        return zipTo(zipFile, ArchiveOptions.defaults());
+    }
+
+    /**
+     * Creates a zip archive containing all paths, compressing each file as the options
+     * choose.
+     *
+     * <p>Every entry uses the {@code DEFLATED} method. At level 0 the deflater only
+     * copies the data into uncompressed blocks, which costs about as little CPU as the
+     * {@code STORED} method and adds a few bytes per 64KB, but does not need the size
+     * and CRC of the file before it is written, so each file is still read once.</p>
+     *
+     * @param zipFile the path to the zip file to create
+     * @param options the per-file compression options
+     * @return this Execute instance for method chaining
+     * @throws IllegalArgumentException if options is null
+     */
+    public Execute zipTo(Path zipFile, ArchiveOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Archive options cannot be null");
+        }
+        streamable = false;
         operations.add(paths -> {
             if (verbose) {
                 log("Creating zip: " + zipFile);
@@ -364,14 +875,17 @@ public class Execute {
                     
                     for (Path path : paths) {
                         if (Files.isRegularFile(path)) {
-                            ZipEntry entry = new ZipEntry(path.getFileName().toString());
-                            zos.putNextEntry(entry);
-                            Files.copy(path, zos);
-                            zos.closeEntry();
-                            
-                            if (verbose) {
-                                log("  Added: " + path);
-                            }
+                            perform(ExecuteEvent.Operation.ZIP, path, zipFile, () -> {
+                                // Open the source first so an unreadable file leaves no empty entry behind
+                                try (InputStream in = new BufferedInputStream(
+                                        Files.newInputStream(path), ArchiveOptions.SAMPLE_SIZE)) {
+                                    zos.setLevel(options.levelOf(path, in));
+                                    zos.putNextEntry(new ZipEntry(path.getFileName().toString()));
+                                    long bytes = rateLimiter != null ? rateLimiter.transfer(in, zos) : in.transferTo(zos);
+                                    zos.closeEntry();
+                                    return bytes;
+                                }
+                            });
                         }
                     }
                 }
@@ -385,22 +899,182 @@ public class Execute {
     }
     
     /**
-     * Applies a custom operation to each path.
+     * Creates an uncompressed tar archive containing all paths.
      *
-     * @param operation the operation to apply
+     * @param tarFile the path to the tar file to create
      * @return this Execute instance for method chaining
      */
-    public Execute forEach(Consumer<Path> operation) {
-        operations.add(paths -> {
-            for (Path path : paths) {
-                if (verbose) {
-                    log("Processing: " + path);
-                }
-                if (!dryRun) {
-                    operation.accept(path);
-                }
-            }
-            return paths;
+    public Execute tarTo(String tarFile) {
+        return tarTo(Paths.get(tarFile));
+    }
+
+    /**
+     * Creates an uncompressed tar archive containing all paths.
+     *
+     * <p>Like {@link #zipTo(Path)}, each regular file is added under its file name.
+     * Files are streamed into the archive one after another, so any file size is
+     * supported without buffering. A file that shrinks or cannot be read while it is
+     * archived keeps its entry, filled up with zeros, and is reported as failed; the
+     * entries after it are unaffected.</p>
+     *
+     * @param tarFile the path to the tar file to create
+     * @return this Execute instance for method chaining
+     */
+    public Execute tarTo(Path tarFile) {
+        return archiveToTar(tarFile, null);
+    }
+
+    /**
+     * Creates a gzip-compressed tar archive containing all paths.
+     *
+     * @param tarGzFile the path to the .tar.gz file to create
+     * @return this Execute instance for method chaining
+     */
+    public Execute tarGzTo(String tarGzFile) {
+        return tarGzTo(Paths.get(tarGzFile));
+    }
+
+    /**
+     * Creates a gzip-compressed tar archive containing all paths.
+     *
+     * @param tarGzFile the path to the .tar.gz file to create
+     * @return this Execute instance for method chaining
+     */
+    public Execute tarGzTo(Path tarGzFile) {
+        return tarGzTo(tarGzFile, ArchiveOptions.defaults());
+    }
+
+    /**
+     * Creates a gzip-compressed tar archive containing all paths, compressing each file
+     * as the options choose.
+     *
+     * <p>The archive is a single gzip stream whose deflate level is switched between
+     * entries, so already-compressed files can be stored while text is still deflated,
+     * and the result stays readable by any {@code tar xzf}.</p>
+     *
+     * @param tarGzFile the path to the .tar.gz file to create
+     * @param options the per-file compression options
+     * @return this Execute instance for method chaining
+     * @throws IllegalArgumentException if options is null
+     */
+    public Execute tarGzTo(Path tarGzFile, ArchiveOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Archive options cannot be null");
+        }
+        return archiveToTar(tarGzFile, options);
+    }
+
+    /**
+     * Adds the tar operation; a null options value writes the archive uncompressed.
+     */
+    private Execute archiveToTar(Path tarFile, ArchiveOptions options) {
+        streamable = false;
+        operations.add(paths -> {
+            if (verbose) {
+                log("Creating tar: " + tarFile);
+            }
+
+            if (!dryRun) {
+                Path parent = tarFile.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+
+                OutputStream out = new BufferedOutputStream(Files.newOutputStream(tarFile), 64 * 1024);
+                TarWriter.LevelGzipOutputStream gzip = null;
+                if (options != null) {
+                    gzip = new TarWriter.LevelGzipOutputStream(out);
+                    out = gzip;
+                }
+                try (TarWriter tar = new TarWriter(out, rateLimiter)) {
+                    for (Path path : paths) {
+                        if (Files.isRegularFile(path)) {
+                            TarWriter.LevelGzipOutputStream level = gzip;
+                            perform(ExecuteEvent.Operation.TAR, path, tarFile, () -> {
+                                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                                try (InputStream in = new BufferedInputStream(
+                                        Files.newInputStream(path), ArchiveOptions.SAMPLE_SIZE)) {
+                                    if (level != null) {
+                                        level.setLevel(options.levelOf(path, in));
+                                    }
+                                    tar.addFile(path.getFileName().toString(), attrs.size(),
+                                            attrs.lastModifiedTime().toMillis(), in);
+                                }
+                                return attrs.size();
+                            });
+                        }
+                    }
+                }
+            }
+
+            List<Path> result = new ArrayList<>();
+            result.add(tarFile);
+            return result;
+        });
+        return this;
+    }
+
+    /**
+     * Extracts all zip archives among the paths to the specified directory.
+     *
+     * @param targetDir the target directory
+     * @return this Execute instance for method chaining
+     */
+    public Execute unzipTo(String targetDir) {
+        return unzipTo(Paths.get(targetDir));
+    }
+
+    /**
+     * Extracts all zip archives among the paths to the specified directory.
+     *
+     * <p>Archives are recognized by the zip signature at the start of the file; other
+     * paths are recorded as skipped and passed over. Each archive is opened once and its
+     * entries are extracted in parallel, keeping their relative paths and modification
+     * times; existing files are replaced. If several entries resolve to the same file,
+     * only the last of them is extracted and the others are recorded as skipped. Entries
+     * whose names would resolve outside the target directory are rejected. Every entry
+     * is recorded in the {@link ExecuteReport} with the archive as source, and the
+     * resulting paths are the extracted files.</p>
+     *
+     * @param targetDir the target directory
+     * @return this Execute instance for method chaining
+     */
+    public Execute unzipTo(Path targetDir) {
+        operations.add(paths -> {
+            List<Path> results = new ArrayList<>();
+            if (!dryRun) {
+                Files.createDirectories(targetDir);
+            }
+            for (Path archive : paths) {
+                if (!isZipArchive(archive)) {
+                    skip(ExecuteEvent.Operation.UNZIP, archive, targetDir);
+                    continue;
+                }
+                results.addAll(extract(archive, targetDir));
+            }
+            return results;
+        });
+        return this;
+    }
+
+    /**
+     * Applies a custom operation to each path.
+     *
+     * @param operation the operation to apply
+     * @return this Execute instance for method chaining
+     */
+    public Execute forEach(Consumer<Path> operation) {
+        operations.add(paths -> {
+            List<Path> processed = new ArrayList<>(paths.size());
+            for (Path path : paths) {
+                if (perform(ExecuteEvent.Operation.FOR_EACH, path, path, () -> {
+                    operation.accept(path);
+                    return 0;
+                })) {
+                    processed.add(path);
+                }
+            }
+            return processed;
         });
         return this;
     }
@@ -421,39 +1095,214 @@ public class Execute {
      * Executes all configured operations on the paths.
      *
      * @return the final list of paths after all operations
-     * @throws IOException if an I/O error occurs
+     * @throws IOException if an I/O error occurs and {@link #continueOnError()} is not set
      * @throws IllegalStateException if confirmation is required but not provided
      */
     public List<Path> execute() throws IOException {
-        if (paths.isEmpty()) {
+        return executeWithReport().getPaths();
+    }
+
+    /**
+     * Executes all configured operations and reports the outcome for every path.
+     *
+     * @return the report of the run, including the final list of paths
+     * @throws IOException if an I/O error occurs and {@link #continueOnError()} is not set
+     * @throws IllegalStateException if confirmation is required but not provided
+     */
+    public ExecuteReport executeWithReport() throws IOException {
+        long start = System.nanoTime();
+        progress = progressListener != null ? ProgressTracker.start(progressListener, progressInterval) : null;
+        try {
+            return run(start);
+        } finally {
+            if (progress != null) {
+                progress.close();
+                progress = null;
+            }
+        }
+    }
+
+    private ExecuteReport run(long start) throws IOException {
+        report = new ExecuteReport(progress, fullReport);
+        ExecuteReport current = report;
+
+        if (source != null && streamable && (confirmationPolicy == null || dryRun)) {
+            return runStreaming(start);
+        }
+        List<Path> input = paths;
+        if (source != null) {
+            input = new ArrayList<>(source.execute());
+            input.removeIf(sourceFilter.negate());
+        }
+
+        if (input.isEmpty()) {
             if (verbose) {
                 log("No paths to process");
             }
-            return new ArrayList<>();
+            current.finish(new ArrayList<>(), Duration.ofNanos(System.nanoTime() - start));
+            return current;
         }
         
-        if (confirmationMessage != null && !dryRun) {
-            String message = String.format(confirmationMessage, paths.size());
-            if (!confirm(message)) {
+        if (confirmationPolicy != null && !dryRun) {
+            String message = confirmationMessage != null ? String.format(confirmationMessage, input.size()) : null;
+            ConfirmationRequest request = new ConfirmationRequest(message, Collections.unmodifiableList(input));
+            if (!confirmationPolicy.approve(request)) {
                 if (verbose) {
-                    log("Operation cancelled by user");
+                    log("Operation cancelled by confirmation policy");
                 }
-                return new ArrayList<>();
+                current.cancel();
+                current.finish(new ArrayList<>(), Duration.ofNanos(System.nanoTime() - start));
+                return current;
             }
         }
         
-        List<Path> currentPaths = new ArrayList<>(paths);
+        List<Path> currentPaths;
+        openJournal();
+        try {
+            currentPaths = runOperations(new ArrayList<>(input));
+            if (journal != null) {
+                journal.complete();
+            }
+        } finally {
+            closeJournal();
+        }
         
+        logCompletion(input.size());
+        current.finish(currentPaths, Duration.ofNanos(System.nanoTime() - start));
+        return current;
+    }
+
+    /**
+     * Runs the operations on batches of matches while a background thread walks the
+     * search and fills a bounded queue. The walk is stopped if an operation fails.
+     */
+    private ExecuteReport runStreaming(long start) throws IOException {
+        ExecuteReport current = report;
+        BlockingQueue<Path> queue = new ArrayBlockingQueue<>(STREAM_BUFFER);
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        AtomicReference<RuntimeException> walkFailure = new AtomicReference<>();
+
+        Thread walker = new Thread(() -> {
+            try {
+                source.forEachMatch(path -> {
+                    if (sourceFilter.test(path)) {
+                        try {
+                            queue.put(path);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                    }
+                    return !stopped.get();
+                });
+            } catch (RuntimeException e) {
+                walkFailure.set(e);
+            } finally {
+                try {
+                    while (!stopped.get() && !queue.offer(END_OF_MATCHES, 100, TimeUnit.MILLISECONDS)) {
+                        // Wait for the operations to make room
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "execute-find-walker");
+        walker.setDaemon(true);
+
+        List<Path> results = new ArrayList<>();
+        long count = 0;
+        openJournal();
+        try {
+            walker.start();
+            List<Path> batch = new ArrayList<>(Journal.BATCH_SIZE);
+            boolean more = true;
+            while (more) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for matches");
+                }
+                queue.drainTo(batch, Journal.BATCH_SIZE - 1);
+                if (batch.get(batch.size() - 1) == END_OF_MATCHES) {
+                    batch.remove(batch.size() - 1);
+                    more = false;
+                }
+                if (!batch.isEmpty()) {
+                    count += batch.size();
+                    results.addAll(runOperations(batch));
+                    batch.clear();
+                }
+            }
+
+            RuntimeException failure = walkFailure.get();
+            if (failure instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            } else if (failure != null) {
+                throw failure;
+            }
+            if (journal != null) {
+                journal.complete();
+            }
+        } finally {
+            stopped.set(true);
+            queue.clear();
+            closeJournal();
+        }
+
+        if (count == 0) {
+            if (verbose) {
+                log("No paths to process");
+            }
+        } else {
+            logCompletion(count);
+        }
+        current.finish(results, Duration.ofNanos(System.nanoTime() - start));
+        return current;
+    }
+
+    /**
+     * Helper method to run the whole operation chain on one list of paths.
+     */
+    private List<Path> runOperations(List<Path> input) throws IOException {
+        List<Path> currentPaths = input;
         for (Operation operation : operations) {
+            if (progress != null) {
+                progress.addTotal(currentPaths.size(), -1);
+            }
             currentPaths = operation.execute(currentPaths);
         }
-        
+        return currentPaths;
+    }
+
+    /**
+     * Helper method to start the journal of a run, if one is configured.
+     */
+    private void openJournal() throws IOException {
+        if (journalFile != null && !dryRun) {
+            journal = Journal.create(journalFile);
+        }
+    }
+
+    /**
+     * Helper method to close the journal; it is only deleted by a completed run.
+     */
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * Helper method to log the summary line of a run.
+     */
+    private void logCompletion(long pathCount) {
         if (verbose) {
             log("Completed " + operations.size() + " operations on " + 
-                paths.size() + " paths");
+                pathCount + " paths" +
+                (report.hasFailures() ? " (" + report.getFailureCount() + " failures)" : ""));
         }
-        
-        return currentPaths;
     }
     
     /**
@@ -488,26 +1337,596 @@ public class Execute {
     }
     
     /**
-     * Logs a message using the configured logger.
+     * Helper method to move each path to the target computed for it, journaling the
+     * moves in batches when a journal is configured.
+     *
+     * <p>Files on the same file store as the target are renamed atomically, in parallel
+     * unless the moves overlap. Regular files on another device are copied and verified
+     * in parallel, and their sources are only deleted once the whole batch has been
+     * copied.</p>
      */
-    private void log(String message) {
-        logger.accept(message);
+    private List<Path> applyMoves(List<Path> sources, Function<Path, Path> targetOf,
+                                  ExecuteEvent.Operation operation, FileStore targetStore) throws IOException {
+        List<Path> targets = new ArrayList<>(sources.size());
+        for (Path source : sources) {
+            targets.add(targetOf.apply(source));
+        }
+        boolean[] crossDevice = new boolean[sources.size()];
+        Map<Path, Boolean> sameStoreByDir = new HashMap<>();
+        for (int i = 0; i < sources.size(); i++) {
+            Path source = sources.get(i);
+            Path dir = source.toAbsolutePath().getParent();
+            boolean sameStore = sameStoreByDir.computeIfAbsent(dir, d -> isOnStore(d, targetStore));
+            crossDevice[i] = !sameStore && Files.isRegularFile(source, LinkOption.NOFOLLOW_LINKS);
+        }
+
+        // Overlapping moves depend on their order and must not run concurrently
+        Set<Path> distinctTargets = new HashSet<>(targets);
+        boolean parallel = distinctTargets.size() == targets.size() && sources.stream().noneMatch(distinctTargets::contains);
+
+        boolean[] moved = new boolean[sources.size()];
+        for (int start = 0; start < sources.size(); start += Journal.BATCH_SIZE) {
+            int end = Math.min(start + Journal.BATCH_SIZE, sources.size());
+            long[] sequences = new long[end - start];
+            if (journal != null) {
+                for (int i = start; i < end; i++) {
+                    sequences[i - start] = journal.intend(sources.get(i), targets.get(i));
+                }
+                journal.sync();
+            }
+            int batchStart = start;
+
+            // Copy phase for cross-device files; failures are kept and reported below
+            IOException[] copyFailures = new IOException[end - start];
+            long[] copiedBytes = new long[end - start];
+            if (!dryRun) {
+                forEachIndex(start, end, parallel, i -> {
+                    if (crossDevice[i]) {
+                        try {
+                            copiedBytes[i - batchStart] = copyVerified(sources.get(i), targets.get(i));
+                        } catch (IOException e) {
+                            copyFailures[i - batchStart] = e;
+                        }
+                    }
+                });
+            }
+
+            forEachIndex(start, end, parallel, i -> {
+                Path source = sources.get(i);
+                Path target = targets.get(i);
+                long sequence = sequences[i - batchStart];
+                moved[i] = perform(operation, source, target, () -> {
+                    if (crossDevice[i]) {
+                        if (copyFailures[i - batchStart] != null) {
+                            throw copyFailures[i - batchStart];
+                        }
+                        Files.delete(source);
+                    } else {
+                        renameAtomically(source, target);
+                    }
+                    if (journal != null) {
+                        journal.done(sequence);
+                    }
+                    // A rename within the file store transfers no data
+                    return crossDevice[i] ? copiedBytes[i - batchStart] : 0;
+                });
+            });
+        }
+
+        List<Path> results = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            if (moved[i]) {
+                results.add(targets.get(i));
+            }
+        }
+        return results;
     }
-    
+
+    /**
+     * Helper method to carry out a rename plan: unchanged paths are skipped, collisions
+     * fail, direct renames and moves to temporary names run in a first parallel phase,
+     * and staged files move from their temporary names to their targets in a second one.
+     * If the second move fails, the file is put back under its original name. Both
+     * phases always run to the end; the first failure is rethrown afterwards.
+     */
+    private List<Path> applyRenames(RenamePlan plan) throws IOException {
+        List<RenamePlan.Step> steps = plan.steps();
+        int n = steps.size();
+        boolean[] renamed = new boolean[n];
+        List<Integer> firstPhase = new ArrayList<>();
+        List<Integer> secondPhase = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            RenamePlan.Step step = steps.get(i);
+            switch (step.kind()) {
+                case UNCHANGED -> {
+                    skip(ExecuteEvent.Operation.RENAME, step.source(), step.target());
+                    renamed[i] = true;
+                }
+                case COLLISION -> renamed[i] = perform(ExecuteEvent.Operation.RENAME, step.source(), step.target(),
+                    () -> {
+                        throw new FileAlreadyExistsException(step.source().toString(), step.target().toString(),
+                            step.conflict());
+                    });
+                case DIRECT -> firstPhase.add(i);
+                case STAGED -> {
+                    firstPhase.add(i);
+                    secondPhase.add(i);
+                }
+            }
+        }
+
+        IOException[] stageFailures = new IOException[n];
+        // Failures are rethrown only once both phases are over, so no file is left under a temporary name
+        IOException[] failures = new IOException[n];
+        long[] firstSequences = new long[n];
+        long[] secondSequences = new long[n];
+        journalRenames(steps, firstPhase, secondPhase, firstSequences, secondSequences);
+        forEachIndex(0, firstPhase.size(), true, k -> {
+            int i = firstPhase.get(k);
+            RenamePlan.Step step = steps.get(i);
+            if (step.kind() == RenamePlan.Kind.DIRECT) {
+                try {
+                    renamed[i] = perform(ExecuteEvent.Operation.RENAME, step.source(), step.target(), () -> {
+                        Files.move(step.source(), step.target());
+                        markDone(firstSequences[i]);
+                        return 0;
+                    });
+                } catch (IOException e) {
+                    failures[i] = e;
+                }
+            } else if (!dryRun) {
+                try {
+                    Files.move(step.source(), step.temp());
+                    markDone(firstSequences[i]);
+                } catch (IOException e) {
+                    stageFailures[i] = e;
+                }
+            }
+        });
+        forEachIndex(0, secondPhase.size(), true, k -> {
+            int i = secondPhase.get(k);
+            RenamePlan.Step step = steps.get(i);
+            try {
+                renamed[i] = perform(ExecuteEvent.Operation.RENAME, step.source(), step.target(), () -> {
+                    if (stageFailures[i] != null) {
+                        throw stageFailures[i];
+                    }
+                    try {
+                        Files.move(step.temp(), step.target());
+                    } catch (IOException e) {
+                        try {
+                            Files.move(step.temp(), step.source());
+                        } catch (IOException restoreFailure) {
+                            e.addSuppressed(restoreFailure);
+                        }
+                        throw e;
+                    }
+                    markDone(secondSequences[i]);
+                    return 0;
+                });
+            } catch (IOException e) {
+                failures[i] = e;
+            }
+        });
+        for (IOException failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        List<Path> results = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (renamed[i]) {
+                results.add(steps.get(i).target());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Helper method to journal a rename plan, if a journal is configured. The intents
+     * of every first-phase move are written, followed by the second hop of every staged
+     * step, and synced once before anything moves; a run killed between the phases
+     * can then still move staged files from their temporary names to their targets.
+     */
+    private void journalRenames(List<RenamePlan.Step> steps, List<Integer> firstPhase, List<Integer> secondPhase,
+                                long[] firstSequences, long[] secondSequences) throws IOException {
+        if (journal == null) {
+            return;
+        }
+        for (int i : firstPhase) {
+            RenamePlan.Step step = steps.get(i);
+            firstSequences[i] = journal.intend(step.source(), step.temp() != null ? step.temp() : step.target());
+        }
+        for (int i : secondPhase) {
+            RenamePlan.Step step = steps.get(i);
+            secondSequences[i] = journal.intend(step.temp(), step.target());
+        }
+        journal.sync();
+    }
+
+    /**
+     * Helper method to mark a journaled move as done, if a journal is configured.
+     */
+    private void markDone(long sequence) throws IOException {
+        if (journal != null) {
+            journal.done(sequence);
+        }
+    }
+
+    /**
+     * Helper method to check whether a path is a zip archive, by the local file header or
+     * empty archive signature. Files that cannot be read count as archives, so that
+     * extracting them reports the failure.
+     */
+    private static boolean isZipArchive(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] magic = in.readNBytes(4);
+            return magic.length == 4 && magic[0] == 'P' && magic[1] == 'K'
+                && ((magic[2] == 3 && magic[3] == 4) || (magic[2] == 5 && magic[3] == 6));
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
     /**
-     * Simple console confirmation (you may want to inject this for testing).
+     * Helper method to extract one archive: directories are created first, then the
+     * file entries are written in parallel from the shared ZipFile.
      */
-    private boolean confirm(String message) {
-        System.out.print(message + " (y/n): ");
+    private List<Path> extract(Path archive, Path targetDir) throws IOException {
+        ZipFile zip;
         try {
-            int response = System.in.read();
-            // Clear the input buffer
-            while (System.in.available() > 0) {
-                System.in.read();
+            zip = new ZipFile(archive.toFile());
+        } catch (IOException e) {
+            perform(ExecuteEvent.Operation.UNZIP, archive, targetDir, () -> {
+                throw e;
+            });
+            return new ArrayList<>();
+        }
+
+        try (zip) {
+            Path root = targetDir.toAbsolutePath().normalize();
+            List<ZipEntry> entries = zip.stream().collect(Collectors.toList());
+            Path[] outputs = new Path[entries.size()];
+            boolean[] extracted = new boolean[entries.size()];
+            Map<Path, Integer> fileEntryByOutput = new HashMap<>();
+            for (int i = 0; i < entries.size(); i++) {
+                ZipEntry entry = entries.get(i);
+                Path output = root.resolve(entry.getName()).normalize();
+                outputs[i] = output;
+                if (!output.startsWith(root)) {
+                    // Reject "zip slip" entries such as ../../etc/passwd
+                    extracted[i] = perform(ExecuteEvent.Operation.UNZIP, archive, output, () -> {
+                        throw new IOException("Entry is outside of the target directory: " + entry.getName());
+                    });
+                    outputs[i] = null;
+                } else if (entry.isDirectory()) {
+                    extracted[i] = perform(ExecuteEvent.Operation.UNZIP, archive, output, () -> {
+                        Files.createDirectories(output);
+                        return 0;
+                    });
+                } else {
+                    // Entries writing the same file must not run concurrently; the last one wins
+                    Integer earlier = fileEntryByOutput.put(output, i);
+                    if (earlier != null) {
+                        skip(ExecuteEvent.Operation.UNZIP, archive, output);
+                        outputs[earlier] = null;
+                    }
+                }
             }
-            return response == 'y' || response == 'Y';
+
+            forEachIndex(0, entries.size(), true, i -> {
+                ZipEntry entry = entries.get(i);
+                Path output = outputs[i];
+                if (output == null || entry.isDirectory()) {
+                    return;
+                }
+                extracted[i] = perform(ExecuteEvent.Operation.UNZIP, archive, output, () -> {
+                    Files.createDirectories(output.getParent());
+                    long bytes;
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        if (rateLimiter != null) {
+                            try (OutputStream out = Files.newOutputStream(output)) {
+                                bytes = rateLimiter.transfer(in, out);
+                            }
+                        } else {
+                            bytes = Files.copy(in, output, StandardCopyOption.REPLACE_EXISTING);
+                        }
+                    }
+                    if (entry.getLastModifiedTime() != null) {
+                        Files.setLastModifiedTime(output, entry.getLastModifiedTime());
+                    }
+                    return bytes;
+                });
+            });
+
+            List<Path> results = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                if (extracted[i] && outputs[i] != null) {
+                    results.add(outputs[i]);
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Helper method to check whether a directory is on the given file store.
+     * Unknown locations are treated as the same store, keeping the plain move.
+     */
+    private static boolean isOnStore(Path dir, FileStore store) {
+        try {
+            return dir == null || Files.getFileStore(dir).equals(store);
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Helper method to rename within one file store, falling back to a plain move if the
+     * file system cannot rename atomically.
+     */
+    private static void renameAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Helper method to copy a file to another device and check the copy's size.
+     * A failed or short copy is removed again.
+     *
+     * @return the number of bytes copied
+     */
+    private long copyVerified(Path source, Path target) throws IOException {
+        try {
+            long expected = copyFile(source, target, true);
+            long actual = Files.size(target);
+            if (actual != expected) {
+                throw new IOException("Copy verification failed for " + target + ": expected " +
+                    expected + " bytes but found " + actual);
+            }
+            return actual;
         } catch (IOException e) {
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Helper method to run an action for each index of a range, optionally in parallel,
+     * rethrowing the first I/O failure.
+     */
+    private static void forEachIndex(int start, int end, boolean parallel, IndexAction action) throws IOException {
+        if (!parallel) {
+            for (int i = start; i < end; i++) {
+                action.apply(i);
+            }
+            return;
+        }
+        try {
+            IntStream.range(start, end).parallel().forEach(i -> {
+                try {
+                    action.apply(i);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Helper method to apply an action to one path and record the outcome in the report,
+     * counting the bytes the action returns. In dry-run mode the action is skipped. A
+     * failure is rethrown unless {@link #continueOnError()} is set.
+     *
+     * @return true if the path should be passed on to the next operation
+     */
+    private boolean perform(ExecuteEvent.Operation operation, Path source, Path target,
+                            PathAction action) throws IOException {
+        if (dryRun) {
+            skip(operation, source, target);
+            emit(operation, source, target, 0, null);
+            return true;
+        }
+
+        long start = System.nanoTime();
+        long bytes;
+        try {
+            if (rateLimiter != null) {
+                rateLimiter.acquireOperation();
+            }
+            bytes = action.apply();
+        } catch (IOException | RuntimeException e) {
+            report.record(operation.id(), source, target, ExecuteReport.Outcome.FAILED, 0,
+                System.nanoTime() - start, e);
+            emit(operation, source, target, 0, e);
+            if (!continueOnError) {
+                throw e;
+            }
             return false;
         }
+        report.record(operation.id(), source, target, ExecuteReport.Outcome.SUCCESS, bytes,
+            System.nanoTime() - start, null);
+        emit(operation, source, target, bytes, null);
+        return true;
+    }
+
+    /**
+     * Helper method to record a path an operation decided to leave alone.
+     */
+    private void skip(ExecuteEvent.Operation operation, Path source, Path target) {
+        report.record(operation.id(), source, target, ExecuteReport.Outcome.SKIPPED, 0, 0, null);
+    }
+
+    /**
+     * Helper method to copy a file, replacing the target, at the configured byte rate.
+     */
+    private long copyFile(Path source, Path target, boolean preserveAttributes) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(source, BasicFileAttributes.class);
+        if (rateLimiter != null && rateLimiter.limitsBytes() && attrs.isRegularFile()) {
+            return rateLimiter.copy(source, target, preserveAttributes);
+        } else if (preserveAttributes) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        } else {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return attrs.isRegularFile() ? attrs.size() : 0;
+    }
+
+    /**
+     * A source path and the target it is synchronized to.
+     */
+    private record SyncPair(Path source, Path target) {
+    }
+
+    /**
+     * Helper method to expand a source into sync pairs, walking directories recursively.
+     */
+    private void collectSyncPairs(Path source, Path target, List<SyncPair> pairs) throws IOException {
+        if (!Files.isDirectory(source)) {
+            pairs.add(new SyncPair(source, target));
+            return;
+        }
+        try (Stream<Path> tree = Files.walk(source)) {
+            tree.forEach(path -> pairs.add(
+                new SyncPair(path, target.resolve(source.relativize(path).toString()))));
+        }
+    }
+
+    /**
+     * Helper method to decide whether a sync target needs to be (re)written.
+     * Paths whose attributes cannot be read are treated as out of date, so the
+     * copy attempt reports the failure.
+     */
+    private boolean isOutOfDate(SyncPair pair, SyncOptions options) {
+        try {
+            if (!Files.exists(pair.target())) {
+                return true;
+            }
+            BasicFileAttributes sourceAttrs = Files.readAttributes(pair.source(), BasicFileAttributes.class);
+            BasicFileAttributes targetAttrs = Files.readAttributes(pair.target(), BasicFileAttributes.class);
+            if (sourceAttrs.isDirectory() || targetAttrs.isDirectory()) {
+                return sourceAttrs.isDirectory() != targetAttrs.isDirectory();
+            }
+            // Timestamps are compared in millis; not every file store keeps nanoseconds
+            if (sourceAttrs.size() != targetAttrs.size()
+                    || sourceAttrs.lastModifiedTime().toMillis() != targetAttrs.lastModifiedTime().toMillis()) {
+                return true;
+            }
+            return options.isCompareContent() && Files.mismatch(pair.source(), pair.target()) != -1L;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Helper method to write out changed sync pairs: directories first, then files in parallel.
+     *
+     * @return the targets that could not be written
+     */
+    private Set<Path> copyChanged(List<SyncPair> changed) throws IOException {
+        Set<Path> failed = ConcurrentHashMap.newKeySet();
+        for (SyncPair pair : changed) {
+            if (Files.isDirectory(pair.source())) {
+                boolean written = perform(ExecuteEvent.Operation.SYNC, pair.source(), pair.target(), () -> {
+                    if (Files.exists(pair.target()) && !Files.isDirectory(pair.target())) {
+                        Files.delete(pair.target());
+                    }
+                    Files.createDirectories(pair.target());
+                    return 0;
+                });
+                if (!written) {
+                    failed.add(pair.target());
+                }
+            }
+        }
+        try {
+            changed.parallelStream()
+                .filter(pair -> !Files.isDirectory(pair.source()))
+                .forEach(pair -> {
+                    try {
+                        boolean written = perform(ExecuteEvent.Operation.SYNC, pair.source(), pair.target(), () -> {
+                            if (Files.isDirectory(pair.target())) {
+                                deleteRecursively(pair.target());
+                            }
+                            Files.createDirectories(pair.target().getParent());
+                            return copyFile(pair.source(), pair.target(), true);
+                        });
+                        if (!written) {
+                            failed.add(pair.target());
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return failed;
+    }
+
+    /**
+     * Helper method to delete everything under a sync target directory that has no source.
+     */
+    private void deleteOrphans(Path targetDir, Set<Path> expected) throws IOException {
+        Files.walkFileTree(targetDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                    throws IOException {
+                if (!expected.contains(file)) {
+                    removeOrphan(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc)
+                    throws IOException {
+                if (!dir.equals(targetDir) && !expected.contains(dir)) {
+                    removeOrphan(dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            private void removeOrphan(Path path) throws IOException {
+                if (!dryRun) {
+                    Files.delete(path);
+                }
+                emit(ExecuteEvent.Operation.DELETE_ORPHAN, path, null, 0, null);
+            }
+        });
+    }
+
+    /**
+     * Logs a message using the configured logger.
+     */
+    private void log(String message) {
+        logger.accept(message);
+    }
+
+    /**
+     * Sends a per-path event to the sink, or formats it for the logger when verbose.
+     * Nothing is allocated when neither is configured.
+     */
+    private void emit(ExecuteEvent.Operation operation, Path source, Path target, long size,
+                      Exception failure) {
+        if (eventSink != null) {
+            eventSink.accept(new ExecuteEvent(operation, source, target, size, failure));
+        } else if (verbose) {
+            log(new ExecuteEvent(operation, source, target, size, failure).toString());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import java.nio.file.Path;
+
+/**
+ * A structured record of one path handled by an {@link Execute} operation.
+ *
+ * <p>Events are delivered to an {@link ExecuteEventSink} after the operation has been
+ * applied to the path (or skipped, in a dry run). Keeping the fields separate lets a
+ * sink filter, aggregate or format events only when it actually needs text.</p>
+ *
+ * @param operation the operation applied to the path
+ * @param source the path the operation was applied to
+ * @param target the resulting path, or null if the operation produces none
+ * @param size the number of bytes accounted for, or 0 if not measured
+ * @param failure the failure cause, or null if the operation succeeded
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+public record ExecuteEvent(Operation operation, Path source, Path target, long size, Exception failure) {
+
+    /**
+     * The per-path operations of {@link Execute}.
+     */
+    public enum Operation {
+        /** A file copied by {@code copyTo}. */
+        COPY("copy", "Copying"),
+        /** A file moved by {@code moveTo}. */
+        MOVE("move", "Moving"),
+        /** A file renamed by {@code rename}. */
+        RENAME("rename", "Renaming"),
+        /** A file or directory removed by {@code delete}. */
+        DELETE("delete", "Deleting"),
+        /** A file copied by {@code backup} or stored by {@code backupDeduplicated}. */
+        BACKUP("backup", "Backing up"),
+        /** A file or directory written by {@code syncTo}. */
+        SYNC("sync", "Syncing"),
+        /** A target entry without a source removed by {@code syncTo}. */
+        DELETE_ORPHAN("deleteOrphan", "Deleting orphan"),
+        /** A file added to an archive by {@code zipTo}. */
+        ZIP("zip", "Zipping"),
+        /** A file added to an archive by {@code tarTo} or {@code tarGzTo}. */
+        TAR("tar", "Archiving"),
+        /** An archive entry extracted by {@code unzipTo}. */
+        UNZIP("unzip", "Extracting"),
+        /** A path passed to a {@code forEach} action. */
+        FOR_EACH("forEach", "Processing");
+
+        private final String id;
+        private final String verb;
+
+        Operation(String id, String verb) {
+            this.id = id;
+            this.verb = verb;
+        }
+
+        /**
+         * Returns the short name used in {@link ExecuteReport.PathResult#operation()}.
+         *
+         * @return the operation name, e.g. {@code "copy"}
+         */
+        public String id() {
+            return id;
+        }
+
+        /**
+         * Returns the progressive verb used in log lines.
+         *
+         * @return the verb, e.g. {@code "Copying"}
+         */
+        public String verb() {
+            return verb;
+        }
+    }
+
+    /**
+     * Checks whether the operation failed for this path.
+     *
+     * @return true if a failure cause is present
+     */
+    public boolean failed() {
+        return failure != null;
+    }
+
+    /**
+     * Appends the log line for this event, e.g. {@code "Copying: a.txt -> /backup/a.txt"}.
+     *
+     * @param out the builder to append to
+     * @return the given builder
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        if (failure != null) {
+            out.append("Failed: ");
+        }
+        out.append(operation.verb()).append(": ").append(source);
+        if (target != null && !target.equals(source)) {
+            out.append(" -> ").append(target);
+        }
+        if (failure != null) {
+            out.append(" (").append(failure).append(')');
+        }
+        return out;
+    }
+
+    /**
+     * Returns the log line for this event.
+     *
+     * @return the formatted event
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(128)).toString();
+    }
+}
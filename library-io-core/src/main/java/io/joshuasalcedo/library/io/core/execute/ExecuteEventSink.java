@@ -0,0 +1,57 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import org.slf4j.Logger;
+
+/**
+ * Receives an {@link ExecuteEvent} for every path handled by an {@link Execute} run.
+ *
+ * <p>Operations that work in parallel, such as {@code syncTo}, deliver events from
+ * several threads at once, so implementations must be thread-safe. They are called
+ * on the worker threads and should return quickly; use {@link AsyncEventWriter} to
+ * move formatting and output off those threads.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * // Route events to SLF4J; nothing is formatted unless INFO is enabled
+ * Execute.on(files)
+ *     .withEventSink(ExecuteEventSink.slf4j(LoggerFactory.getLogger("cleanup")))
+ *     .delete()
+ *     .execute();
+ * </pre>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+@FunctionalInterface
+public interface ExecuteEventSink {
+
+    /**
+     * Called once for every path an operation has handled.
+     *
+     * @param event the event
+     */
+    void accept(ExecuteEvent event);
+
+    /**
+     * Returns a sink that logs events to the given SLF4J logger.
+     *
+     * <p>Successful paths are logged at INFO and failures at WARN. The event is passed
+     * as a format argument, so it is only turned into text if the level is enabled.</p>
+     *
+     * @param logger the logger to write to
+     * @return a sink logging to the given logger
+     * @throws IllegalArgumentException if logger is null
+     */
+    static ExecuteEventSink slf4j(Logger logger) {
+        if (logger == null) {
+            throw new IllegalArgumentException("Logger cannot be null");
+        }
+        return event -> {
+            if (event.failed()) {
+                logger.warn("{}", event);
+            } else {
+                logger.info("{}", event);
+            }
+        };
+    }
+}
@@ -0,0 +1,240 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import io.joshuasalcedo.library.io.core.progress.ProgressTracker;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * The per-path outcome of an {@link Execute} run.
+ *
+ * <p>Obtained from {@link Execute#executeWithReport()}. Every path handled by an
+ * operation is counted as succeeded, skipped or failed, together with the bytes it
+ * accounted for. Failed paths are kept with their cause and how long they took; the
+ * results of the other paths are only kept when the run was configured with
+ * {@link Execute#withFullReport()}, so a report stays small however many paths a run
+ * handles. Combined with {@link Execute#continueOnError()}, a run survives individual
+ * failures and the failed paths can be retried:</p>
+ *
+ * <pre>
+ * ExecuteReport report = Execute.on(files)
+ *     .continueOnError()
+ *     .copyTo("/backup")
+ *     .executeWithReport();
+ *
+ * if (report.hasFailures()) {
+ *     Execute.on(report.getFailedPaths())
+ *         .copyTo("/backup")
+ *         .executeWithReport();
+ * }
+ * </pre>
+ *
+ * <p>Results may be recorded concurrently by operations that work in parallel.</p>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+public final class ExecuteReport {
+
+    /**
+     * The outcome of a single path within an operation.
+     */
+    public enum Outcome {
+        /** The operation was applied to the path. */
+        SUCCESS,
+        /** The operation decided the path needed no work, or the run was a dry run. */
+        SKIPPED,
+        /** The operation failed for the path. */
+        FAILED
+    }
+
+    /**
+     * The result of applying one operation to one path.
+     *
+     * @param operation the operation name, e.g. {@code "copy"}
+     * @param source the path the operation was applied to
+     * @param target the resulting path, or null if the operation produces none
+     * @param outcome whether the operation succeeded, skipped or failed
+     * @param bytes the number of bytes copied, written or deleted; renaming a file
+     *              within its file store transfers none
+     * @param duration the time spent on this path
+     * @param cause the failure cause, or null unless the outcome is {@link Outcome#FAILED}
+     */
+    public record PathResult(String operation, Path source, Path target, Outcome outcome,
+                             long bytes, Duration duration, Exception cause) {
+    }
+
+    private final Queue<PathResult> failures = new ConcurrentLinkedQueue<>();
+    private final Queue<PathResult> results;
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder bytesProcessed = new LongAdder();
+    private final ProgressTracker progress;
+    private List<Path> paths = new ArrayList<>();
+    private Duration duration = Duration.ZERO;
+    private boolean cancelled = false;
+
+    ExecuteReport(ProgressTracker progress, boolean retainResults) {
+        this.progress = progress;
+        this.results = retainResults ? new ConcurrentLinkedQueue<>() : null;
+    }
+
+    /**
+     * Counts the outcome of one path. A {@link PathResult} is only created for failures,
+     * or for every path when results are retained.
+     */
+    void record(String operation, Path source, Path target, Outcome outcome, long bytes,
+                long nanos, Exception cause) {
+        switch (outcome) {
+            case SUCCESS -> {
+                successCount.increment();
+                bytesProcessed.add(bytes);
+            }
+            case SKIPPED -> skippedCount.increment();
+            case FAILED -> failureCount.increment();
+        }
+        if (outcome == Outcome.FAILED || results != null) {
+            PathResult result = new PathResult(operation, source, target, outcome, bytes,
+                Duration.ofNanos(nanos), cause);
+            if (outcome == Outcome.FAILED) {
+                failures.add(result);
+            }
+            if (results != null) {
+                results.add(result);
+            }
+        }
+        if (progress != null) {
+            progress.advance(1, bytes);
+        }
+    }
+
+    void cancel() {
+        this.cancelled = true;
+    }
+
+    void finish(List<Path> paths, Duration duration) {
+        this.paths = paths;
+        this.duration = duration;
+    }
+
+    /**
+     * Returns the recorded results in the order they were recorded: every result if the
+     * run was configured with {@link Execute#withFullReport()}, only the failures
+     * otherwise.
+     *
+     * @return the per-path results
+     */
+    public List<PathResult> getResults() {
+        return new ArrayList<>(results != null ? results : failures);
+    }
+
+    /**
+     * Returns the results with outcome {@link Outcome#FAILED}.
+     *
+     * @return the failed results
+     */
+    public List<PathResult> getFailures() {
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * Returns the distinct paths that failed, suitable for {@link Execute#on(List)}.
+     *
+     * <p>Each path is the one the failing operation received, so for chained operations
+     * it may be the output of an earlier operation rather than an original input.</p>
+     *
+     * @return the failed paths
+     */
+    public List<Path> getFailedPaths() {
+        return failures.stream()
+            .map(PathResult::source)
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the final list of paths after all operations, as {@link Execute#execute()} does.
+     *
+     * @return the resulting paths
+     */
+    public List<Path> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Returns the number of paths an operation was successfully applied to.
+     *
+     * @return the success count
+     */
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    /**
+     * Returns the number of paths skipped by an operation.
+     *
+     * @return the skipped count
+     */
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+    /**
+     * Returns the number of paths an operation failed on.
+     *
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * Checks whether any operation failed on any path.
+     *
+     * @return true if at least one failure was recorded
+     */
+    public boolean hasFailures() {
+        return failureCount.sum() > 0;
+    }
+
+    /**
+     * Returns the total bytes copied, moved or deleted by successful results.
+     *
+     * @return the processed byte count
+     */
+    public long getBytesProcessed() {
+        return bytesProcessed.sum();
+    }
+
+    /**
+     * Returns the wall-clock duration of the whole run.
+     *
+     * @return the run duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Checks whether the {@link ConfirmationPolicy} rejected the run, in which case no
+     * operation was performed.
+     *
+     * @return true if the run was cancelled before it started
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecuteReport[" + (cancelled ? "cancelled, " : "") + "succeeded=" + getSuccessCount() + ", skipped=" + getSkippedCount() +
+            ", failed=" + getFailureCount() + ", bytes=" + getBytesProcessed() + ", duration=" + duration + "]";
+    }
+}
@@ -0,0 +1,256 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A write-ahead journal for the move and rename operations of {@link Execute}.
+ *
+ * <p>When enabled via {@link Execute#withJournal(Path)}, every move is recorded as an
+ * intent before it happens and marked done afterwards. Intents are written and synced
+ * to disk in batches, so a run costs one {@code fsync} per batch rather than one per file.
+ * The journal file is deleted when the run completes; if it still exists, the previous
+ * run was interrupted and can be finished or undone with {@link #recover(Path, Recovery)}.</p>
+ *
+ * <p>The file format is a sequence of binary records: an intent ({@code 'M'}, sequence
+ * number, source, target) or a completion marker ({@code 'D'}, sequence number).
+ * A record torn by a crash is ignored; its move never started because moves only run
+ * after their intents are synced.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Path journal = Paths.get("/var/tmp/migration.journal");
+ * if (Files.exists(journal)) {
+ *     Journal.recover(journal, Journal.Recovery.ROLL_FORWARD);
+ * }
+ * Execute.on(files)
+ *     .withJournal(journal)
+ *     .moveTo("/new/volume")
+ *     .execute();
+ * </pre>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+public final class Journal implements Closeable {
+
+    /**
+     * Number of moves whose intents are synced together.
+     */
+    static final int BATCH_SIZE = 1024;
+
+    private static final byte MOVE = 'M';
+    private static final byte DONE = 'D';
+
+    /**
+     * How to resolve the moves of an interrupted run.
+     */
+    public enum Recovery {
+        /**
+         * Performs every recorded move that did not complete.
+         */
+        ROLL_FORWARD,
+
+        /**
+         * Undoes every recorded move that completed, most recent first.
+         * Files overwritten by a completed move cannot be brought back.
+         */
+        ROLL_BACK
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private long sequence = 0;
+
+    private Journal(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a new journal, refusing to overwrite one left by an interrupted run.
+     */
+    static Journal create(Path file) throws IOException {
+        if (Files.exists(file) && Files.size(file) > 0) {
+            throw new IllegalStateException("Journal from an interrupted run exists, recover it first: " + file);
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new Journal(file, FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    /**
+     * Buffers the intent to move source to target. Paths are recorded as absolute
+     * paths, so recovery does not depend on the working directory.
+     *
+     * @return the sequence number of the intent
+     */
+    synchronized long intend(Path source, Path target) throws IOException {
+        long seq = sequence++;
+        out.writeByte(MOVE);
+        out.writeLong(seq);
+        out.writeUTF(source.toAbsolutePath().normalize().toString());
+        out.writeUTF(target.toAbsolutePath().normalize().toString());
+        return seq;
+    }
+
+    /**
+     * Buffers the completion marker of a move.
+     */
+    synchronized void done(long seq) throws IOException {
+        out.writeByte(DONE);
+        out.writeLong(seq);
+    }
+
+    /**
+     * Writes all buffered records and forces them to disk.
+     */
+    synchronized void sync() throws IOException {
+        flush();
+        channel.force(false);
+    }
+
+    /**
+     * Closes the journal and deletes it, marking the run as complete.
+     */
+    void complete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Writes buffered records and closes the journal file without deleting it.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            flush();
+            channel.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        if (buffer.size() == 0) {
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        buffer.reset();
+    }
+
+    /**
+     * Resolves the moves recorded by an interrupted run and deletes the journal.
+     *
+     * <p>Rolling forward performs every recorded move that did not complete, in the
+     * original order, skipping moves whose source no longer exists. Rolling back moves
+     * completed targets back to their sources in reverse order, skipping moves that
+     * never happened. A move out of a path that an earlier, still pending move would
+     * have filled never happened either, even if its target exists; this is how the
+     * second hop of a rename through a temporary name is told apart from a swap
+     * partner's untouched file.</p>
+     *
+     * @param journalFile the journal file passed to {@link Execute#withJournal(Path)}
+     * @param mode whether to finish or undo the interrupted run
+     * @return the paths that were moved during recovery, at their new locations
+     * @throws IOException if the journal cannot be read or a move fails
+     * @throws IllegalArgumentException if journalFile or mode is null
+     */
+    public static List<Path> recover(Path journalFile, Recovery mode) throws IOException {
+        if (journalFile == null || mode == null) {
+            throw new IllegalArgumentException("Journal file and recovery mode cannot be null");
+        }
+        List<Path> moved = new ArrayList<>();
+        if (!Files.exists(journalFile)) {
+            return moved;
+        }
+
+        Map<Long, Path[]> intents = new LinkedHashMap<>();
+        List<Long> completed = new ArrayList<>();
+        readRecords(journalFile, intents, completed);
+
+        if (mode == Recovery.ROLL_FORWARD) {
+            completed.forEach(intents::remove);
+            for (Path[] move : intents.values()) {
+                if (Files.exists(move[0])) {
+                    Files.move(move[0], move[1], StandardCopyOption.REPLACE_EXISTING);
+                    moved.add(move[1]);
+                }
+            }
+        } else {
+            List<Long> sequences = new ArrayList<>(intents.keySet());
+            List<Path[]> all = new ArrayList<>(intents.values());
+            Set<Long> done = new HashSet<>(completed);
+            // The latest earlier move into each move's source, such as the move to a temporary name
+            int[] feeder = new int[all.size()];
+            Map<Path, Integer> lastInto = new HashMap<>();
+            for (int i = 0; i < all.size(); i++) {
+                feeder[i] = lastInto.getOrDefault(all.get(i)[0], -1);
+                lastInto.put(all.get(i)[1], i);
+            }
+            for (int i = all.size() - 1; i >= 0; i--) {
+                Path[] move = all.get(i);
+                int f = feeder[i];
+                boolean feederPending = f >= 0 && !done.contains(sequences.get(f)) && Files.exists(all.get(f)[0]);
+                if (!feederPending && Files.exists(move[1]) && !Files.exists(move[0])) {
+                    Files.move(move[1], move[0]);
+                    moved.add(move[0]);
+                }
+            }
+        }
+
+        Files.delete(journalFile);
+        return moved;
+    }
+
+    private static void readRecords(Path journalFile, Map<Long, Path[]> intents, List<Long> completed)
+            throws IOException {
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(journalFile));
+             DataInputStream in = new DataInputStream(stream)) {
+            while (true) {
+                int type = in.read();
+                if (type == -1) {
+                    return;
+                }
+                long seq = in.readLong();
+                if (type == MOVE) {
+                    Path source = Paths.get(in.readUTF());
+                    Path target = Paths.get(in.readUTF());
+                    intents.put(seq, new Path[] {source, target});
+                } else if (type == DONE) {
+                    completed.add(seq);
+                } else {
+                    throw new IOException("Corrupt journal record at sequence " + seq + ": " + journalFile);
+                }
+            }
+        } catch (EOFException e) {
+            // Torn trailing record from a crash; everything before it is intact
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributeView;
+import java.nio.file.attribute.DosFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token-bucket limiter for the I/O throughput of {@link Execute} operations.
+ *
+ * <p>Two independent buckets limit bytes per second and file operations per second.
+ * A limit of zero or less means unlimited. Each bucket holds at most one second's worth
+ * of tokens, so short bursts are allowed but the long-term rate is capped.</p>
+ *
+ * <p>One limiter is shared by all threads of a run, including the parallel workers of
+ * operations such as {@code syncTo}. Limits can be changed at any time while a job is
+ * running; the new rate takes effect immediately, including for threads that are
+ * already waiting.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * RateLimiter limiter = RateLimiter.of(50L * 1024 * 1024, 500);  // 50MB/s, 500 files/s
+ * Execute.on(files)
+ *     .withRateLimiter(limiter)
+ *     .copyTo("/backup")
+ *     .execute();
+ *
+ * // From another thread, e.g. when the host gets busy
+ * limiter.setBytesPerSecond(10L * 1024 * 1024);
+ * </pre>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+public final class RateLimiter {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Bucket bytes;
+    private final Bucket operations;
+
+    private RateLimiter(long bytesPerSecond, long opsPerSecond) {
+        this.bytes = new Bucket(bytesPerSecond);
+        this.operations = new Bucket(opsPerSecond);
+    }
+
+    /**
+     * Creates a limiter with the given rates.
+     *
+     * @param bytesPerSecond the maximum bytes per second, or 0 for unlimited
+     * @param opsPerSecond the maximum file operations per second, or 0 for unlimited
+     * @return a new RateLimiter instance
+     */
+    public static RateLimiter of(long bytesPerSecond, long opsPerSecond) {
+        return new RateLimiter(bytesPerSecond, opsPerSecond);
+    }
+
+    /**
+     * Creates a limiter that does not limit anything until a rate is set.
+     *
+     * @return a new RateLimiter instance
+     */
+    public static RateLimiter unlimited() {
+        return new RateLimiter(0, 0);
+    }
+
+    /**
+     * Changes the byte rate; takes effect immediately for all threads.
+     *
+     * @param bytesPerSecond the maximum bytes per second, or 0 for unlimited
+     */
+    public void setBytesPerSecond(long bytesPerSecond) {
+        bytes.setRate(bytesPerSecond);
+    }
+
+    /**
+     * Changes the operation rate; takes effect immediately for all threads.
+     *
+     * @param opsPerSecond the maximum file operations per second, or 0 for unlimited
+     */
+    public void setOpsPerSecond(long opsPerSecond) {
+        operations.setRate(opsPerSecond);
+    }
+
+    /**
+     * Returns the current byte rate.
+     *
+     * @return the maximum bytes per second, or 0 if unlimited
+     */
+    public long getBytesPerSecond() {
+        return bytes.getRate();
+    }
+
+    /**
+     * Returns the current operation rate.
+     *
+     * @return the maximum file operations per second, or 0 if unlimited
+     */
+    public long getOpsPerSecond() {
+        return operations.getRate();
+    }
+
+    /**
+     * Blocks until one file operation may proceed.
+     */
+    void acquireOperation() throws IOException {
+        operations.acquire(1);
+    }
+
+    /**
+     * Blocks until the given number of bytes may be transferred.
+     */
+    void acquireBytes(long count) throws IOException {
+        bytes.acquire(count);
+    }
+
+    /**
+     * Checks whether byte throughput is currently limited.
+     */
+    boolean limitsBytes() {
+        return bytes.getRate() > 0;
+    }
+
+    /**
+     * Copies a stream in chunks, waiting for byte tokens before each chunk.
+     *
+     * @return the number of bytes copied
+     */
+    long transfer(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[CHUNK_SIZE];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            acquireBytes(read);
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Copies a file at the current byte rate, replacing the target. With
+     * {@code preserveAttributes}, the target gets the attributes that
+     * {@link StandardCopyOption#COPY_ATTRIBUTES} would copy.
+     *
+     * @return the number of bytes copied
+     */
+    long copy(Path source, Path target, boolean preserveAttributes) throws IOException {
+        long bytes;
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            bytes = transfer(in, out);
+        }
+        if (preserveAttributes) {
+            copyAttributes(source, target);
+        }
+        return bytes;
+    }
+
+    /**
+     * Copies POSIX permissions and ownership or DOS attributes, whichever both files
+     * support, and the file times. Like {@code COPY_ATTRIBUTES}, failing to change the
+     * owner is not an error.
+     */
+    private static void copyAttributes(Path source, Path target) throws IOException {
+        PosixFileAttributeView sourcePosix = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        PosixFileAttributeView targetPosix = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        DosFileAttributeView sourceDos = Files.getFileAttributeView(source, DosFileAttributeView.class);
+        DosFileAttributeView targetDos = Files.getFileAttributeView(target, DosFileAttributeView.class);
+        BasicFileAttributes times;
+        if (sourcePosix != null && targetPosix != null) {
+            PosixFileAttributes attrs = sourcePosix.readAttributes();
+            try {
+                targetPosix.setOwner(attrs.owner());
+                targetPosix.setGroup(attrs.group());
+            } catch (IOException e) {
+                // Only privileged users may give files away
+            }
+            targetPosix.setPermissions(attrs.permissions());
+            times = attrs;
+        } else if (sourceDos != null && targetDos != null) {
+            DosFileAttributes attrs = sourceDos.readAttributes();
+            targetDos.setArchive(attrs.isArchive());
+            targetDos.setHidden(attrs.isHidden());
+            targetDos.setSystem(attrs.isSystem());
+            targetDos.setReadOnly(attrs.isReadOnly());
+            times = attrs;
+        } else {
+            times = Files.readAttributes(source, BasicFileAttributes.class);
+        }
+        Files.getFileAttributeView(target, BasicFileAttributeView.class)
+            .setTimes(times.lastModifiedTime(), times.lastAccessTime(), times.creationTime());
+    }
+
+    /**
+     * A token bucket refilled continuously at a configurable rate. A caller waits until
+     * the bucket holds the tokens it asks for, or a full bucket if it asks for more
+     * than that; taking them may then put the bucket into debt, which the next caller
+     * waits out, so large requests are never starved. Waiting threads re-check the
+     * bucket whenever the rate changes.
+     */
+    private static final class Bucket {
+        private long rate;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        Bucket(long rate) {
+            this.rate = Math.max(0, rate);
+            this.tokens = this.rate;
+        }
+
+        synchronized long getRate() {
+            return rate;
+        }
+
+        synchronized void setRate(long newRate) {
+            refill();
+            rate = Math.max(0, newRate);
+            tokens = Math.min(tokens, rate);
+            notifyAll();
+        }
+
+        synchronized void acquire(long count) throws IOException {
+            try {
+                while (rate > 0) {
+                    refill();
+                    double needed = Math.min(count, rate);
+                    if (tokens >= needed) {
+                        tokens -= count;
+                        return;
+                    }
+                    long waitNanos = (long) Math.ceil((needed - tokens) * TimeUnit.SECONDS.toNanos(1) / rate);
+                    TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for rate limiter");
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            if (rate > 0) {
+                tokens = Math.min(rate, tokens + (now - lastRefill) * (double) rate / TimeUnit.SECONDS.toNanos(1));
+            }
+            lastRefill = now;
+        }
+    }
+}
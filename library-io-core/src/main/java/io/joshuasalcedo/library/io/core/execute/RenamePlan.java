@@ -0,0 +1,160 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * A conflict-free plan for renaming a batch of paths at once.
+ *
+ * <p>All targets are computed up front and indexed in hash maps by source and by
+ * target, so every check is constant time per path:</p>
+ * <ul>
+ *   <li>a target claimed by more than one source is a collision, and none of the
+ *       claimants is moved;</li>
+ *   <li>a target that already exists and is not itself being renamed away is a
+ *       collision, so no unrelated file is ever replaced;</li>
+ *   <li>a target that is another source's current name (a chain such as a&rarr;b,
+ *       b&rarr;c or a cycle such as a&rarr;b, b&rarr;a) is staged: the file first moves to
+ *       a temporary name and only takes its target once every source has left;</li>
+ *   <li>a path whose target cannot be freed, because the file there stays in place,
+ *       fails as well, and that failure propagates backwards along the chain.</li>
+ * </ul>
+ *
+ * <p>After planning, all first-phase moves (direct renames and moves to temporary
+ * names) are independent of each other, as are all second-phase moves, so each phase
+ * can run in parallel.</p>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+final class RenamePlan {
+
+    /**
+     * How a path is handled by the plan.
+     */
+    enum Kind {
+        /** The target equals the source; nothing to do. */
+        UNCHANGED,
+        /** The target is free; rename in the first phase. */
+        DIRECT,
+        /** The target is held by another source; move to a temporary name first. */
+        STAGED,
+        /** The rename would overwrite another file; the path is not moved. */
+        COLLISION
+    }
+
+    /**
+     * The plan for one path.
+     *
+     * @param source the current path
+     * @param target the path after renaming
+     * @param temp the temporary path for {@link Kind#STAGED} steps, otherwise null
+     * @param kind how the path is handled
+     * @param conflict the reason for a {@link Kind#COLLISION}, otherwise null
+     */
+    record Step(Path source, Path target, Path temp, Kind kind, String conflict) {
+    }
+
+    private final List<Step> steps;
+
+    private RenamePlan(List<Step> steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Plans the renames of the given sources.
+     */
+    static RenamePlan of(List<Path> sources, Function<Path, Path> targetOf) {
+        int n = sources.size();
+        List<Path> targets = new ArrayList<>(n);
+        Map<Path, Integer> sourceIndex = new HashMap<>(n * 2);
+        Map<Path, Integer> claims = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            Path target = targetOf.apply(sources.get(i));
+            targets.add(target);
+            sourceIndex.putIfAbsent(key(sources.get(i)), i);
+            claims.merge(key(target), 1, Integer::sum);
+        }
+
+        Kind[] kinds = new Kind[n];
+        String[] conflicts = new String[n];
+        Map<Path, Integer> claimant = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            Path source = sources.get(i);
+            Path target = targets.get(i);
+            Path targetKey = key(target);
+            if (targetKey.equals(key(source))) {
+                kinds[i] = Kind.UNCHANGED;
+            } else if (claims.get(targetKey) > 1) {
+                kinds[i] = Kind.COLLISION;
+                conflicts[i] = "Several paths would be renamed to " + target;
+            } else if (sourceIndex.containsKey(targetKey) || isSameFile(source, target)) {
+                // Another source, or this file under a different case on a case-insensitive store
+                kinds[i] = Kind.STAGED;
+                claimant.put(targetKey, i);
+            } else if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+                kinds[i] = Kind.COLLISION;
+                conflicts[i] = "Target already exists: " + target;
+            } else {
+                kinds[i] = Kind.DIRECT;
+            }
+        }
+
+        // A path that stays where it is blocks whoever wanted its name, and so on up the chain
+        Deque<Integer> blocked = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            if (kinds[i] == Kind.UNCHANGED || kinds[i] == Kind.COLLISION) {
+                blocked.add(i);
+            }
+        }
+        while (!blocked.isEmpty()) {
+            int j = blocked.poll();
+            Integer waiting = claimant.remove(key(sources.get(j)));
+            if (waiting != null && waiting != j && kinds[waiting] == Kind.STAGED) {
+                kinds[waiting] = Kind.COLLISION;
+                conflicts[waiting] = "Target is not being renamed away: " + targets.get(waiting);
+                blocked.add(waiting);
+            }
+        }
+
+        String token = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        List<Step> steps = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Path source = sources.get(i);
+            Path temp = kinds[i] == Kind.STAGED
+                ? source.resolveSibling(".rename-" + token + "-" + i + ".tmp")
+                : null;
+            steps.add(new Step(source, targets.get(i), temp, kinds[i], conflicts[i]));
+        }
+        return new RenamePlan(steps);
+    }
+
+    /**
+     * Returns the planned steps, in input order.
+     */
+    List<Step> steps() {
+        return steps;
+    }
+
+    private static Path key(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static boolean isSameFile(Path source, Path target) {
+        try {
+            return Files.exists(target, LinkOption.NOFOLLOW_LINKS) && Files.isSameFile(source, target);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+/**
+ * Options controlling how {@link Execute#syncTo(java.nio.file.Path, SyncOptions)}
+ * decides which files to copy and what to do with files that only exist in the target.
+ *
+ * <p>By default a target file is considered up to date when its size and last-modified
+ * time match the source. Content comparison and orphan deletion are opt-in.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Execute.on(Find.in("/data").matching("*").execute())
+ *     .syncTo(Paths.get("/backup/data"), SyncOptions.defaults()
+ *         .compareContent()
+ *         .deleteOrphans())
+ *     .execute();
+ * </pre>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+public final class SyncOptions {
+
+    private boolean compareContent = false;
+    private boolean deleteOrphans = false;
+
+    private SyncOptions() {
+    }
+
+    /**
+     * Creates options that compare size and last-modified time only and never delete.
+     *
+     * @return a new SyncOptions instance
+     */
+    public static SyncOptions defaults() {
+        return new SyncOptions();
+    }
+
+    /**
+     * Also compares file contents when size and last-modified time match.
+     *
+     * <p>This catches files that were rewritten with an unchanged timestamp, at the
+     * cost of reading both files. Reading stops at the first differing byte.</p>
+     *
+     * @return this SyncOptions instance for method chaining
+     */
+    public SyncOptions compareContent() {
+        this.compareContent = true;
+        return this;
+    }
+
+    /**
+     * Deletes files and directories under the target directory that have no
+     * corresponding source.
+     *
+     * @return this SyncOptions instance for method chaining
+     */
+    public SyncOptions deleteOrphans() {
+        this.deleteOrphans = true;
+        return this;
+    }
+
+    boolean isCompareContent() {
+        return compareContent;
+    }
+
+    boolean isDeleteOrphans() {
+        return deleteOrphans;
+    }
+}
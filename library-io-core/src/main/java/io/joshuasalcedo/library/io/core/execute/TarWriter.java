@@ -0,0 +1,202 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A minimal streaming writer for POSIX tar archives.
+ *
+ * <p>Regular files are written as ustar entries. Names longer than 100 bytes and files
+ * larger than 8GB get a preceding PAX extended header, which every modern tar reads.
+ * Entries are streamed straight from the source, so memory use does not depend on the
+ * file size.</p>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+final class TarWriter implements Closeable {
+
+    private static final int BLOCK = 512;
+    private static final int NAME_LENGTH = 100;
+    private static final long MAX_OCTAL_SIZE = 077777777777L;
+    private static final byte[] ZERO_BLOCK = new byte[BLOCK];
+
+    private final OutputStream out;
+    private final RateLimiter rateLimiter;
+    private final byte[] buffer = new byte[64 * 1024];
+    private boolean broken;
+
+    /**
+     * Creates a writer on the given stream, throttled by the limiter if not null.
+     */
+    TarWriter(OutputStream out, RateLimiter rateLimiter) {
+        this.out = out;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Writes one regular file entry with exactly {@code size} bytes from the stream.
+     *
+     * <p>If the stream ends early or fails, the rest of the entry is filled with zeros,
+     * as GNU tar does, so the archive stays readable and later entries are intact; the
+     * failure is then thrown to report this entry. A failure writing the archive itself
+     * leaves it unusable, so every later call fails too.</p>
+     *
+     * @throws IOException if the stream ends before {@code size} bytes were read, reading
+     *         it fails, or the archive cannot be written
+     */
+    void addFile(String name, long size, long lastModifiedMillis, InputStream in) throws IOException {
+        if (broken) {
+            throw new IOException("Archive is incomplete after an earlier write failure: " + name);
+        }
+        IOException readFailure = null;
+        try {
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            if (nameBytes.length > NAME_LENGTH || size > MAX_OCTAL_SIZE) {
+                writePaxHeader(name, nameBytes.length > NAME_LENGTH, size);
+            }
+            writeHeader(nameBytes, size, lastModifiedMillis / 1000, (byte) '0');
+
+            long remaining = size;
+            while (remaining > 0) {
+                int read;
+                try {
+                    read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                } catch (IOException e) {
+                    readFailure = e;
+                    break;
+                }
+                if (read < 0) {
+                    readFailure = new IOException("File shrank while archiving: " + name);
+                    break;
+                }
+                if (rateLimiter != null) {
+                    rateLimiter.acquireBytes(read);
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+            if (remaining > 0) {
+                Arrays.fill(buffer, (byte) 0);
+                while (remaining > 0) {
+                    int length = (int) Math.min(buffer.length, remaining);
+                    out.write(buffer, 0, length);
+                    remaining -= length;
+                }
+            }
+            pad(size);
+        } catch (IOException e) {
+            broken = true;
+            throw e;
+        }
+        if (readFailure != null) {
+            throw readFailure;
+        }
+    }
+
+    /**
+     * Writes the two empty end-of-archive blocks and closes the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            out.write(ZERO_BLOCK);
+            out.write(ZERO_BLOCK);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writePaxHeader(String name, boolean longName, long size) throws IOException {
+        StringBuilder records = new StringBuilder();
+        if (longName) {
+            records.append(paxRecord("path", name));
+        }
+        if (size > MAX_OCTAL_SIZE) {
+            records.append(paxRecord("size", Long.toString(size)));
+        }
+        byte[] data = records.toString().getBytes(StandardCharsets.UTF_8);
+        writeHeader("././@PaxHeader".getBytes(StandardCharsets.US_ASCII), data.length, 0, (byte) 'x');
+        out.write(data);
+        pad(data.length);
+    }
+
+    /**
+     * Formats a PAX record "LEN key=value\n", where LEN counts the whole record
+     * including its own digits.
+     */
+    private static String paxRecord(String key, String value) {
+        int body = 3 + key.length() + value.getBytes(StandardCharsets.UTF_8).length;
+        int length = body + Integer.toString(body).length();
+        if (Integer.toString(length).length() != Integer.toString(body).length()) {
+            length++;
+        }
+        return length + " " + key + "=" + value + "\n";
+    }
+
+    private void writeHeader(byte[] name, long size, long mtimeSeconds, byte type) throws IOException {
+        byte[] header = new byte[BLOCK];
+        System.arraycopy(name, 0, header, 0, Math.min(name.length, NAME_LENGTH));
+        octal(header, 100, 8, 0644);
+        octal(header, 108, 8, 0);
+        octal(header, 116, 8, 0);
+        octal(header, 124, 12, Math.min(size, MAX_OCTAL_SIZE));
+        octal(header, 136, 12, Math.max(0, mtimeSeconds));
+        header[156] = type;
+        System.arraycopy("ustar\0".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 6);
+        header[263] = '0';
+        header[264] = '0';
+
+        // The checksum is computed with its own field filled with spaces
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+        octal(header, 148, 7, checksum);
+        header[155] = ' ';
+        out.write(header);
+    }
+
+    /**
+     * Writes a zero-padded, NUL-terminated octal number into a header field.
+     */
+    private static void octal(byte[] header, int offset, int length, long value) {
+        String digits = Long.toOctalString(value);
+        int width = length - 1;
+        for (int i = 0; i < width; i++) {
+            int digit = i - (width - digits.length());
+            header[offset + i] = (byte) (digit < 0 ? '0' : digits.charAt(digit));
+        }
+        header[offset + width] = 0;
+    }
+
+    private void pad(long size) throws IOException {
+        int remainder = (int) (size % BLOCK);
+        if (remainder != 0) {
+            out.write(ZERO_BLOCK, 0, BLOCK - remainder);
+        }
+    }
+
+    /**
+     * A gzip stream whose deflate level can be changed between entries.
+     */
+    static final class LevelGzipOutputStream extends GZIPOutputStream {
+
+        LevelGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 64 * 1024);
+        }
+
+        /**
+         * Sets the level used for data written from now on.
+         */
+        void setLevel(int level) {
+            def.setLevel(level);
+        }
+    }
+}
@@ -21,10 +21,45 @@
  * <dl>
  *   <dt>{@link io.joshuasalcedo.library.io.core.execute.Execute}</dt>
  *   <dd>The main class providing a fluent API for building and executing file operations</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.execute.ArchiveOptions}</dt>
+ *   <dd>Per-file compression levels for zip and tar.gz archives, skipping already-compressed data</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.execute.ConfirmationPolicy}</dt>
+ *   <dd>Pluggable approval of a run: console prompt, auto-approve, file and size thresholds</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.execute.ExecuteEvent}</dt>
+ *   <dd>Structured per-path event: operation, source, target, size and failure</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.execute.ExecuteEventSink}</dt>
+ *   <dd>Receiver of per-path events, with an SLF4J adapter that formats lazily</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.execute.AsyncEventWriter}</dt>
+ *   <dd>Event sink that writes batched log lines from a background thread</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.execute.ExecuteReport}</dt>
+ *   <dd>Outcome counts of a run and the failed paths to retry</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.execute.Journal}</dt>
+ *   <dd>Write-ahead journal and crash recovery for move and rename chains</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.execute.RateLimiter}</dt>
+ *   <dd>Token-bucket throttling of bytes and operations per second, adjustable at runtime</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.execute.SyncOptions}</dt>
+ *   <dd>Options for incremental synchronization via {@code syncTo}</dd>
  * </dl>
  *
  * <h2>Usage Examples</h2>
  *
+ * <h3>Streaming from a search</h3>
+ * <pre>{@code
+ * // Start deleting with the first match instead of after the whole walk
+ * Execute.from(Find.in("/tmp/cache").matching("*.tmp"))
+ *     .delete()
+ *     .execute();
+ * }</pre>
+ *
  * <h3>Copying files</h3>
  * <pre>{@code
  * // Copy all Java files to a backup directory
@@ -42,6 +77,13 @@
  *     .withConfirmation("Move log files to archive?")
  *     .moveTo(Paths.get("archive"))
  *     .execute();
+ *
+ * // Unattended: refuse to move more than 5,000 files or 20GB
+ * ExecuteReport report = Execute.on(Paths.get("logs"))
+ *     .withConfirmation(ConfirmationPolicy.maxFiles(5_000)
+ *         .and(ConfirmationPolicy.maxBytes(20L * 1024 * 1024 * 1024)))
+ *     .moveTo(Paths.get("archive"))
+ *     .executeWithReport();
  * }</pre>
  *
  * <h3>Deleting files</h3>
@@ -73,6 +115,12 @@
  *     .filter(path -> path.toString().endsWith(".pdf"))
  *     .rename(name -> timestamp + "_" + name)
  *     .execute();
+ *
+ * // Renumber a sequence; overlapping names are staged, and collisions fail instead of overwriting
+ * Execute.on(frames)
+ *     .continueOnError()
+ *     .rename(name -> renumber(name, +1))
+ *     .execute();
  * }</pre>
  *
  * <h3>Creating backups</h3>
@@ -84,13 +132,44 @@
  *     .execute();
  * }</pre>
  *
- * <h3>Creating zip archives</h3>
+ * <h3>Deduplicated backups</h3>
+ * <pre>{@code
+ * // Store each unique file content once; every run writes a small manifest
+ * Path manifest = Execute.on(Paths.get("data"))
+ *     .backupDeduplicated(Paths.get("/backup/store"))
+ *     .execute()
+ *     .get(0);
+ *
+ * // Restore that snapshot later
+ * Execute.restore(manifest, Paths.get("restored"));
+ * }</pre>
+ *
+ * <h3>Incremental synchronization</h3>
+ * <pre>{@code
+ * // Copy only files whose size or modification time changed,
+ * // removing target files whose source is gone
+ * Execute.on(Paths.get("data"))
+ *     .syncTo(Paths.get("/backup"), SyncOptions.defaults().deleteOrphans())
+ *     .execute();
+ * }</pre>
+ *
+ * <h3>Creating archives</h3>
  * <pre>{@code
  * // Zip source files
  * Execute.on(Paths.get("src"))
  *     .filter(path -> path.toString().endsWith(".java"))
  *     .zipTo(Paths.get("source_backup.zip"))
  *     .execute();
+ *
+ * // Extract every downloaded archive
+ * Execute.from(Find.in("downloads").matching("*.zip"))
+ *     .unzipTo(Paths.get("extracted"))
+ *     .execute();
+ *
+ * // Archive logs quickly, storing files that are already compressed
+ * Execute.on(Paths.get("logs"))
+ *     .tarGzTo(Paths.get("logs.tar.gz"), ArchiveOptions.defaults().level(1).skipCompressed())
+ *     .execute();
  * }</pre>
  *
  * <h3>Custom operations</h3>
@@ -116,11 +195,55 @@
  *     .execute();
  * }</pre>
  *
+ * <h3>Throttling</h3>
+ * <pre>{@code
+ * // Copy at no more than 20MB/s and 200 files/s; the limiter can be retuned while running
+ * RateLimiter limiter = RateLimiter.of(20L * 1024 * 1024, 200);
+ * Execute.on(Paths.get("data"))
+ *     .withRateLimiter(limiter)
+ *     .copyTo(Paths.get("/backup"))
+ *     .execute();
+ * }</pre>
+ *
+ * <h3>Logging large runs</h3>
+ * <pre>{@code
+ * // Log every path without a synchronized println per file
+ * try (AsyncEventWriter events = AsyncEventWriter.toStandardOut()) {
+ *     Execute.on(files)
+ *         .withEventSink(events)
+ *         .syncTo(Paths.get("/mirror"))
+ *         .execute();
+ * }
+ * }</pre>
+ *
+ * <h3>Progress reporting</h3>
+ * <pre>{@code
+ * // Print files done, throughput and ETA every second
+ * Execute.on(files)
+ *     .withProgress(p -> System.out.println(p.items() + "/" + p.totalItems()
+ *         + " files, " + (long) p.bytesPerSecond() + " B/s, ETA " + p.eta().orElse(null)))
+ *     .copyTo(Paths.get("/backup"))
+ *     .execute();
+ * }</pre>
+ *
+ * <h3>Journaled moves</h3>
+ * <pre>{@code
+ * // Finish an interrupted migration, then run the next one with a journal
+ * Path journal = Paths.get("migration.journal");
+ * Journal.recover(journal, Journal.Recovery.ROLL_FORWARD);
+ * Execute.on(Paths.get("data"))
+ *     .withJournal(journal)
+ *     .moveTo(Paths.get("/mnt/new"))
+ *     .execute();
+ * }</pre>
+ *
  * <h2>Error Handling</h2>
  * <ul>
- *   <li>IOException during file operations are caught and logged</li>
- *   <li>Operations continue even if some files fail (best-effort approach)</li>
- *   <li>The execute() method returns the list of successfully processed files</li>
+ *   <li>By default the first IOException aborts the chain and is thrown from execute()</li>
+ *   <li>With continueOnError() failing paths are recorded and the remaining paths are still processed</li>
+ *   <li>executeWithReport() returns an {@link io.joshuasalcedo.library.io.core.execute.ExecuteReport}
+ *       with outcome and byte counts and the failed paths for a retry run; withFullReport()
+ *       also keeps the result of every path</li>
  * </ul>
  *
  * <h2>Thread Safety</h2>
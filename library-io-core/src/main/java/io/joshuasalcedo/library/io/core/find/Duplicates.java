@@ -0,0 +1,255 @@
+package io.joshuasalcedo.library.io.core.find;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+
+/**
+ * Finds files with identical content.
+ *
+ * <p>Candidates are narrowed down in three stages so that most files are never read
+ * in full:</p>
+ * <ol>
+ *   <li>Files are grouped by size; a file with a unique size cannot have a duplicate.</li>
+ *   <li>Files of equal size are compared by a checksum of their first and last 4KB.</li>
+ *   <li>Only files that still collide get a full SHA-256 hash.</li>
+ * </ol>
+ * <p>Each stage runs in parallel. Empty files, directories and symbolic links are
+ * ignored, so a link is never reported as a duplicate of its target.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * // Report duplicate groups
+ * List&lt;List&lt;Path&gt;&gt; groups = Find.in("/share")
+ *     .matching("*")
+ *     .duplicates()
+ *     .groups();
+ *
+ * // Delete every copy except the first of each group
+ * Execute.on(Duplicates.in(Find.in("/share").matching("*.jpg")).redundant())
+ *     .delete()
+ *     .execute();
+ * </pre>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+public class Duplicates {
+    private static final Logger logger = LoggerFactory.getLogger(Duplicates.class);
+
+    private static final int EDGE_SIZE = 4 * 1024;
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    private final List<Path> candidates;
+    private LongConsumer readThrottle = bytes -> { };
+
+    /**
+     * Private constructor to enforce factory method usage.
+     *
+     * @param candidates the files to compare
+     */
+    private Duplicates(List<Path> candidates) {
+        this.candidates = candidates;
+    }
+
+    /**
+     * Creates a duplicate finder over the given files.
+     *
+     * @param paths the files to compare
+     * @return a new Duplicates instance
+     * @throws IllegalArgumentException if paths is null
+     */
+    public static Duplicates among(Collection<Path> paths) {
+        if (paths == null) {
+            throw new IllegalArgumentException("Paths cannot be null");
+        }
+        return new Duplicates(new ArrayList<>(paths));
+    }
+
+    /**
+     * Creates a duplicate finder over the results of a search.
+     *
+     * @param find the configured search supplying candidate files
+     * @return a new Duplicates instance
+     * @throws IllegalArgumentException if find is null
+     * @throws IllegalStateException if the search has no pattern
+     */
+    public static Duplicates in(Find find) {
+        if (find == null) {
+            throw new IllegalArgumentException("Find cannot be null");
+        }
+        return among(find.execute());
+    }
+
+    /**
+     * Sets a callback invoked with the number of bytes of every chunk of file content
+     * read, which may block to limit the read rate. {@code Execute} passes its
+     * {@code RateLimiter} here.
+     *
+     * @param readThrottle the callback, called from several threads at once
+     * @return this Duplicates instance for method chaining
+     * @throws IllegalArgumentException if readThrottle is null
+     */
+    public Duplicates withReadThrottle(LongConsumer readThrottle) {
+        if (readThrottle == null) {
+            throw new IllegalArgumentException("Read throttle cannot be null");
+        }
+        this.readThrottle = readThrottle;
+        return this;
+    }
+
+    /**
+     * Returns the groups of files sharing identical content.
+     *
+     * <p>Each group contains at least two paths, sorted in natural path order. Groups
+     * are sorted by their first path.</p>
+     *
+     * @return the duplicate groups, or an empty list if there are none
+     */
+    public List<List<Path>> groups() {
+        List<List<Path>> bySize = narrow(
+            candidates.stream().distinct().collect(Collectors.toList()), this::sizeKey);
+        List<List<Path>> byEdges = narrowEach(bySize, this::edgeKey);
+        List<List<Path>> byContent = narrowEach(byEdges, this::contentKey);
+
+        return byContent.stream()
+            .map(group -> group.stream().sorted().collect(Collectors.toList()))
+            .sorted(Comparator.comparing(group -> group.get(0)))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns every duplicate except the first path of each group.
+     *
+     * <p>Deleting these paths leaves exactly one copy of each content.</p>
+     *
+     * @return the redundant copies, or an empty list if there are none
+     */
+    public List<Path> redundant() {
+        return groups().stream()
+            .flatMap(group -> group.subList(1, group.size()).stream())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Splits every group further by the given key, dropping groups left with one member.
+     * Keys for all groups are computed in a single parallel pass.
+     */
+    private List<List<Path>> narrowEach(List<List<Path>> groups, Function<Path, Object> key) {
+        Map<Path, Integer> groupOf = new HashMap<>();
+        for (int i = 0; i < groups.size(); i++) {
+            for (Path path : groups.get(i)) {
+                groupOf.put(path, i);
+            }
+        }
+        return narrow(new ArrayList<>(groupOf.keySet()), path -> {
+            Object value = key.apply(path);
+            return value != null ? List.of(groupOf.get(path), value) : null;
+        });
+    }
+
+    /**
+     * Groups paths by key in parallel. Paths whose key is null (unreadable or
+     * not a candidate) are dropped, as are groups with a single member.
+     */
+    private List<List<Path>> narrow(List<Path> paths, Function<Path, Object> key) {
+        Map<Object, List<Path>> grouped = paths.parallelStream()
+            .map(path -> new Keyed(key.apply(path), path))
+            .filter(keyed -> keyed.key() != null)
+            .collect(Collectors.groupingByConcurrent(Keyed::key,
+                Collectors.mapping(Keyed::path, Collectors.toList())));
+
+        return grouped.values().stream()
+            .filter(group -> group.size() > 1)
+            .collect(Collectors.toList());
+    }
+
+    private record Keyed(Object key, Path path) {
+    }
+
+    private Object sizeKey(Path path) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class,
+                LinkOption.NOFOLLOW_LINKS);
+            if (!attrs.isRegularFile() || attrs.size() == 0) {
+                return null;
+            }
+            return attrs.size();
+        } catch (IOException e) {
+            logger.warn("Cannot read attributes of '{}': {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private Object edgeKey(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            CRC32C crc = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocate(EDGE_SIZE);
+
+            readFully(channel, buffer, 0);
+            readThrottle.accept(buffer.position());
+            crc.update(buffer.flip());
+            if (size > EDGE_SIZE) {
+                buffer.clear();
+                readFully(channel, buffer, Math.max(EDGE_SIZE, size - EDGE_SIZE));
+                readThrottle.accept(buffer.position());
+                crc.update(buffer.flip());
+            }
+            return crc.getValue();
+        } catch (IOException e) {
+            logger.warn("Cannot read '{}': {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private Object contentKey(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // One heap buffer per file: nothing stays mapped or off-heap until the next GC
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(READ_CHUNK_SIZE, channel.size()));
+            int read;
+            while ((read = channel.read(buffer.clear())) > 0) {
+                readThrottle.accept(read);
+                digest.update(buffer.flip());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            logger.warn("Cannot hash '{}': {}", path, e.getMessage());
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+    }
+}
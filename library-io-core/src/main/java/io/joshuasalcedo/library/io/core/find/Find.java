@@ -1,7 +1,11 @@
 package io.joshuasalcedo.library.io.core.find;
 
+import io.joshuasalcedo.library.io.core.progress.ProgressListener;
+import io.joshuasalcedo.library.io.core.progress.ProgressTracker;
+
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
@@ -43,6 +47,9 @@ public class Find {
     private String pattern;
     private final List<Predicate<Path>> filters = new ArrayList<>();
     private String content;
+    private boolean insideArchives = false;
+    private ProgressListener progressListener;
+    private Duration progressInterval = ProgressTracker.DEFAULT_INTERVAL;
     private static final Finder finder = FinderFactory.createFinder();
 
     /**
@@ -346,6 +353,78 @@ public class Find {
         return this;
     }
 
+    /**
+     * Also searches the entries of zip, jar, war and ear archives found during the walk.
+     *
+     * <p>Each archive is opened through the zip file system provider and its entries are
+     * matched, filtered and content-searched like regular files, without extracting
+     * anything to disk. Unlike regular files, entries with binary extensions such as
+     * {@code .class} are content-searched too, so {@link #containing(String)} finds the
+     * classes that mention a string. Matching entries are returned as paths of the
+     * archive's file system, which is closed once the walk leaves the archive: their names and
+     * {@link Path#toUri()} (a {@code jar:} URI naming both archive and entry) remain
+     * usable, but reading their content requires opening the archive again, e.g. by
+     * passing the archive to {@code Execute.unzipTo}. For the same reason
+     * {@code Execute.from} rejects a search with this option. Unreadable archives are
+     * logged and skipped.</p>
+     *
+     * <pre>
+     * // Which jars contain a class?
+     * Find.in(libDir)
+     *     .matching("StringUtils.class")
+     *     .insideArchives()
+     *     .execute()
+     *     .forEach(entry -&gt; System.out.println(entry.toUri()));
+     * </pre>
+     *
+     * @return this Find instance for method chaining
+     */
+    public Find insideArchives() {
+        this.insideArchives = true;
+        return this;
+    }
+
+    /**
+     * Checks whether the search also matches entries inside archives.
+     *
+     * @return true if {@link #insideArchives()} was called
+     */
+    public boolean isSearchingInsideArchives() {
+        return insideArchives;
+    }
+
+    /**
+     * Reports search progress to the listener once per second.
+     *
+     * @param listener the progress listener
+     * @return this Find instance for method chaining
+     * @see #withProgress(ProgressListener, Duration)
+     */
+    public Find withProgress(ProgressListener listener) {
+        return withProgress(listener, ProgressTracker.DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Reports search progress to the listener at the given interval.
+     *
+     * <p>Progress counts the files visited by the walk and their total size, whether
+     * they match or not. The size of a tree is not known up front, so the samples carry
+     * throughput but no total or ETA. A final sample is delivered when the search ends.</p>
+     *
+     * @param listener the progress listener
+     * @param interval the time between samples
+     * @return this Find instance for method chaining
+     * @throws IllegalArgumentException if listener is null
+     */
+    public Find withProgress(ProgressListener listener, Duration interval) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.progressListener = listener;
+        this.progressInterval = interval;
+        return this;
+    }
+
     /**
      * Executes the search and returns the list of matching paths.
      *
@@ -368,16 +447,69 @@ public class Find {
 
         Predicate<Path> combinedFilter = getCombinedFilter();
 
+        if (progressListener == null && !insideArchives) {
+            return search(finder, combinedFilter);
+        }
+        try (ProgressTracker progress = startProgress()) {
+            return search(FinderFactory.createFinder(progress, insideArchives), combinedFilter);
+        }
+    }
+
+    /**
+     * Runs the search with the given finder.
+     */
+    private List<Path> search(Finder searcher, Predicate<Path> combinedFilter) {
         // Determine which finder method to call based on what's configured
         if (content != null && !content.isEmpty()) {
-            return finder.find(directory, pattern, combinedFilter, content);
+            return searcher.find(directory, pattern, combinedFilter, content);
         } else if (combinedFilter != null) {
-            return finder.find(directory, pattern, combinedFilter);
+            return searcher.find(directory, pattern, combinedFilter);
         } else {
-            return finder.find(directory, pattern);
+            return searcher.find(directory, pattern);
         }
     }
 
+    /**
+     * Runs the search and hands each match to the action as soon as the walk finds it.
+     *
+     * <p>Unlike {@link #execute()}, no list of matches is built, so work on the first
+     * matches can start while the rest of the tree is still being walked. The walk runs
+     * on the calling thread and stops early when the action returns false.</p>
+     *
+     * <pre>
+     * Find.in("/var/log")
+     *     .matching("*.log")
+     *     .forEachMatch(path -&gt; queue.offer(path));
+     * </pre>
+     *
+     * @param action receives each match; returns false to stop the walk
+     * @return true if the whole tree was walked, false if the action stopped it
+     * @throws IllegalArgumentException if action is null
+     * @throws IllegalStateException if no pattern has been specified
+     * @throws java.io.UncheckedIOException if an I/O error occurs during the search
+     */
+    public boolean forEachMatch(Predicate<Path> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        if (pattern == null) {
+            throw new IllegalStateException("Pattern must be specified using matching() method");
+        }
+
+        String searchContent = content != null && !content.isEmpty() ? content : null;
+        try (ProgressTracker progress = startProgress()) {
+            return new FinderImpl(progress, insideArchives)
+                .walk(directory, pattern, getCombinedFilter(), searchContent, action);
+        }
+    }
+
+    /**
+     * Starts progress reporting if a listener is set.
+     */
+    private ProgressTracker startProgress() {
+        return progressListener != null ? ProgressTracker.start(progressListener, progressInterval) : null;
+    }
+
     /**
      * Convenience method that executes the search and returns the first matching path.
      *
@@ -408,6 +540,20 @@ public class Find {
         return execute().size();
     }
 
+    /**
+     * Executes the search and returns a finder for files with identical content among the matches.
+     *
+     * <p>This is equivalent to {@code Duplicates.in(this)}. The duplicate comparison runs
+     * when {@link Duplicates#groups()} or {@link Duplicates#redundant()} is called.</p>
+     *
+     * @return a Duplicates instance over the matching paths
+     * @throws IllegalStateException if no pattern has been specified
+     * @throws java.io.UncheckedIOException if an I/O error occurs during the search
+     */
+    public Duplicates duplicates() {
+        return Duplicates.in(this);
+    }
+
     /**
      * Convenience method that executes the search and checks if any matches exist.
      *
@@ -1,5 +1,7 @@
 package io.joshuasalcedo.library.io.core.find;
 
+import io.joshuasalcedo.library.io.core.progress.ProgressTracker;
+
 /**
  * Factory class for creating instances of the Finder implementation.
  * 
@@ -18,6 +20,18 @@ package io.joshuasalcedo.library.io.core.find;
     public static Finder createFinder() {
         return new FinderImpl();
     }
+
+    /**
+     * Creates a new instance of the Finder implementation with optional progress
+     * reporting and archive traversal.
+     *
+     * @param progress the tracker to advance for every visited file, or null
+     * @param insideArchives whether to walk the entries of zip and jar archives
+     * @return a new Finder instance
+     */
+    static Finder createFinder(ProgressTracker progress, boolean insideArchives) {
+        return new FinderImpl(progress, insideArchives);
+    }
     
     // Private constructor to prevent instantiation
     private FinderFactory() {
@@ -1,5 +1,6 @@
 package io.joshuasalcedo.library.io.core.find;
 
+import io.joshuasalcedo.library.io.core.progress.ProgressTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,6 +19,7 @@ import java.util.function.Predicate;
 
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
+import static java.nio.file.FileVisitResult.TERMINATE;
 
 /**
  * Implementation of the Finder interface that walks file trees to find matching paths.
@@ -34,6 +36,22 @@ class FinderImpl implements Finder {
     private static final int SMALL_FILE_THRESHOLD = 1024 * 1024; // 1MB
     private static final int MAX_FILE_SIZE = 100 * 1024 * 1024; // 100MB max for content search
 
+    private final ProgressTracker progress;
+    private final boolean insideArchives;
+
+    FinderImpl() {
+        this(null, false);
+    }
+
+    /**
+     * Creates a finder that counts every visited file and its size on the given tracker,
+     * and optionally also walks the entries of zip and jar archives.
+     */
+    FinderImpl(ProgressTracker progress, boolean insideArchives) {
+        this.progress = progress;
+        this.insideArchives = insideArchives;
+    }
+
     @Override
     public List<Path> find(Path directory, String pattern) {
         return find(directory, pattern, null, null);
@@ -48,7 +66,7 @@ class FinderImpl implements Finder {
     public List<Path> find(Path directory, String pattern, Predicate<Path> filter, String content) {
         validateInputs(directory, pattern);
 
-        FinderVisitor finder = new FinderVisitor(pattern, filter, content);
+        FinderVisitor finder = new FinderVisitor(pattern, filter, content, progress, null, insideArchives);
         try {
             Files.walkFileTree(directory, finder);
             List<Path> results = finder.getMatches();
@@ -68,6 +86,26 @@ class FinderImpl implements Finder {
         }
     }
 
+    /**
+     * Walks the tree and hands every match to the sink as soon as it is found, instead
+     * of collecting the matches. The walk stops early when the sink returns false.
+     *
+     * @return true if the whole tree was walked
+     */
+    boolean walk(Path directory, String pattern, Predicate<Path> filter, String content, Predicate<Path> sink) {
+        validateInputs(directory, pattern);
+
+        FinderVisitor finder = new FinderVisitor(pattern, filter, content, progress, sink, insideArchives);
+        try {
+            Files.walkFileTree(directory, finder);
+            return !finder.isStopped();
+        } catch (IOException e) {
+            logger.error("Error finding files in directory '{}' with pattern '{}': {}",
+                    directory, pattern, e.getMessage(), e);
+            throw new UncheckedIOException("Failed to search directory: " + directory, e);
+        }
+    }
+
     /**
      * Validates input parameters.
      */
@@ -106,13 +144,39 @@ class FinderImpl implements Finder {
         private final boolean contentSearch;
         private final String pattern;
         private final AtomicBoolean hasAccessErrors = new AtomicBoolean(false);
+        private final ProgressTracker progress;
+        private final Predicate<Path> sink;
+        private final boolean insideArchives;
+        private boolean stopped = false;
 
-        FinderVisitor(String pattern, Predicate<Path> filter, String content) {
+        FinderVisitor(String pattern, Predicate<Path> filter, String content, ProgressTracker progress,
+                      Predicate<Path> sink, boolean insideArchives) {
             this.pattern = pattern;
             this.matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
             this.filter = filter != null ? filter : path -> true;
             this.searchContent = content;
             this.contentSearch = content != null && !content.isEmpty();
+            this.progress = progress;
+            this.sink = sink;
+            this.insideArchives = insideArchives;
+        }
+
+        /**
+         * Checks whether the sink asked to stop the walk.
+         */
+        boolean isStopped() {
+            return stopped;
+        }
+
+        /**
+         * Collects a match, or hands it to the sink when streaming.
+         */
+        private void accept(Path file) {
+            if (sink == null) {
+                matches.add(file);
+            } else if (!sink.test(file)) {
+                stopped = true;
+            }
         }
 
         /**
@@ -141,13 +205,13 @@ class FinderImpl implements Finder {
                 if (isMatch && filter.test(file)) {
                     // If no content search needed, add immediately
                     if (!contentSearch) {
-                        matches.add(file);
+                        accept(file);
                         return;
                     }
 
                     // For content search, only check regular files
                     if (Files.isRegularFile(file) && shouldSearchContent(file) && containsContent(file)) {
-                        matches.add(file);
+                        accept(file);
                     }
                 }
             } catch (Exception e) {
@@ -170,9 +234,11 @@ class FinderImpl implements Finder {
                     return false;
                 }
 
-                // Skip files that are likely binary based on extension
+                // Skip files that are likely binary based on extension; archive entries are
+                // searched anyway, since grepping class files is the point of looking inside jars
                 String fileName = file.getFileName().toString().toLowerCase();
-                if (isBinaryFileExtension(fileName)) {
+                boolean archiveEntry = file.getFileSystem() != FileSystems.getDefault();
+                if (!archiveEntry && isBinaryFileExtension(fileName)) {
                     logger.trace("Skipping binary file: {}", file);
                     return false;
                 }
@@ -200,6 +266,35 @@ class FinderImpl implements Finder {
                     fileName.endsWith(".xlsx");
         }
 
+        /**
+         * Checks if a file on the default file system is a zip-based archive.
+         */
+        private boolean isArchive(Path file) {
+            if (file.getFileSystem() != FileSystems.getDefault()) {
+                return false;
+            }
+            String fileName = file.getFileName().toString().toLowerCase();
+            return fileName.endsWith(".zip") || fileName.endsWith(".jar") ||
+                    fileName.endsWith(".war") || fileName.endsWith(".ear");
+        }
+
+        /**
+         * Walks the entries of an archive through the zip file system with this visitor,
+         * so patterns, filters and content search apply to entries as to regular files.
+         */
+        private void walkArchive(Path archive) {
+            try (FileSystem zipFileSystem = FileSystems.newFileSystem(archive)) {
+                for (Path root : zipFileSystem.getRootDirectories()) {
+                    Files.walkFileTree(root, this);
+                    if (stopped) {
+                        break;
+                    }
+                }
+            } catch (IOException | ProviderNotFoundException e) {
+                logger.warn("Cannot search inside archive '{}': {}", archive, e.getMessage());
+            }
+        }
+
         /**
          * Checks if a file contains the search content string.
          */
@@ -253,7 +348,13 @@ class FinderImpl implements Finder {
         @Override
         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
             find(file);
-            return CONTINUE;
+            if (progress != null) {
+                progress.advance(1, attrs.size());
+            }
+            if (insideArchives && !stopped && isArchive(file)) {
+                walkArchive(file);
+            }
+            return stopped ? TERMINATE : CONTINUE;
         }
 
         @Override
@@ -281,7 +382,7 @@ class FinderImpl implements Finder {
                 find(dir);
             }
 
-            return CONTINUE;
+            return stopped ? TERMINATE : CONTINUE;
         }
 
         @Override
@@ -27,6 +27,9 @@
  *
  *   <dt>FinderImpl</dt>
  *   <dd>The default implementation using Java NIO.2 for efficient file tree walking</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.find.Duplicates}</dt>
+ *   <dd>Groups files with identical content using a size, partial-hash, full-hash funnel</dd>
  * </dl>
  *
  * <h2>Usage Examples</h2>
@@ -77,6 +80,13 @@
  *     .matching("*.properties")
  *     .containing("jdbc:postgresql")
  *     .execute();
+ *
+ * // Search entries of jar files without extracting them
+ * List<Path> entries = Find.in("lib")
+ *     .matching("*.xml")
+ *     .containing("DataSource")
+ *     .insideArchives()
+ *     .execute();
  * }</pre>
  *
  * <h3>Path filtering</h3>
@@ -119,6 +129,36 @@
  *     .exists();
  * }</pre>
  *
+ * <h3>Streaming matches</h3>
+ * <pre>{@code
+ * // Handle matches while the walk is still running; stop after the first 100
+ * AtomicInteger seen = new AtomicInteger();
+ * Find.in("/data")
+ *     .matching("*.csv")
+ *     .forEachMatch(path -> {
+ *         process(path);
+ *         return seen.incrementAndGet() < 100;
+ *     });
+ * }</pre>
+ *
+ * <h3>Duplicate detection</h3>
+ * <pre>{@code
+ * // Group files with identical content
+ * List<List<Path>> groups = Find.in("/share")
+ *     .matching("*")
+ *     .duplicates()
+ *     .groups();
+ * }</pre>
+ *
+ * <h3>Progress reporting</h3>
+ * <pre>{@code
+ * // Show how far a long walk has got, sampled every two seconds
+ * List<Path> logs = Find.in("/share")
+ *     .matching("*.log")
+ *     .withProgress(p -> System.out.println("Visited " + p.items() + " files"), Duration.ofSeconds(2))
+ *     .execute();
+ * }</pre>
+ *
  * <h2>Pattern Syntax</h2>
  * <p>The package uses glob patterns with the following wildcards:</p>
  * <ul>
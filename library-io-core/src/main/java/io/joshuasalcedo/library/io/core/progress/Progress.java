@@ -0,0 +1,74 @@
+package io.joshuasalcedo.library.io.core.progress;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * An immutable progress sample of a Find or Execute job.
+ *
+ * @param items the number of files processed so far
+ * @param bytes the number of bytes processed so far
+ * @param totalItems the expected number of files, or -1 if unknown
+ * @param totalBytes the expected number of bytes, or -1 if unknown
+ * @param elapsed the time since the job started
+ * @param done true for the final sample delivered when the job ends
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+public record Progress(long items, long bytes, long totalItems, long totalBytes,
+                       Duration elapsed, boolean done) {
+
+    /**
+     * Returns the average number of files processed per second.
+     *
+     * @return the file throughput, or 0 if no time has elapsed
+     */
+    public double itemsPerSecond() {
+        return perSecond(items);
+    }
+
+    /**
+     * Returns the average number of bytes processed per second.
+     *
+     * @return the byte throughput, or 0 if no time has elapsed
+     */
+    public double bytesPerSecond() {
+        return perSecond(bytes);
+    }
+
+    /**
+     * Returns the completed fraction, based on bytes if the byte total is known,
+     * otherwise on files.
+     *
+     * @return a value between 0 and 1, or empty if no total is known
+     */
+    public Optional<Double> fraction() {
+        if (totalBytes > 0) {
+            return Optional.of(Math.min(1.0, (double) bytes / totalBytes));
+        }
+        if (totalItems > 0) {
+            return Optional.of(Math.min(1.0, (double) items / totalItems));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Estimates the remaining time from the average throughput so far.
+     *
+     * @return the estimated time to completion, or empty if no total is known or
+     *         nothing has been processed yet
+     */
+    public Optional<Duration> eta() {
+        if (done) {
+            return Optional.of(Duration.ZERO);
+        }
+        return fraction()
+            .filter(f -> f > 0)
+            .map(f -> Duration.ofNanos((long) (elapsed.toNanos() * (1 - f) / f)));
+    }
+
+    private double perSecond(long count) {
+        long nanos = elapsed.toNanos();
+        return nanos > 0 ? count * 1_000_000_000.0 / nanos : 0;
+    }
+}
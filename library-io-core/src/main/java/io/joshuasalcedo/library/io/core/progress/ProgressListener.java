@@ -0,0 +1,32 @@
+package io.joshuasalcedo.library.io.core.progress;
+
+/**
+ * Receives periodic progress updates from long-running Find and Execute jobs.
+ *
+ * <p>Listeners are called from a shared timer thread at a fixed interval, not once per
+ * file, so the cost of reporting does not depend on how fast files are processed.
+ * A final update with {@link Progress#done()} set is delivered when the job ends.
+ * Implementations should return quickly.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Execute.on(files)
+ *     .withProgress(p -&gt; System.out.printf("%d/%d files, %.1f MB/s, ETA %s%n",
+ *         p.items(), p.totalItems(), p.bytesPerSecond() / 1e6, p.eta().orElse(null)))
+ *     .copyTo("/backup")
+ *     .execute();
+ * </pre>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Called with the latest progress sample.
+     *
+     * @param progress the progress so far
+     */
+    void onProgress(Progress progress);
+}
@@ -0,0 +1,167 @@
+package io.joshuasalcedo.library.io.core.progress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts processed files and bytes and samples them for a {@link ProgressListener}.
+ *
+ * <p>Recording progress only increments striped counters, which is safe and cheap from
+ * any number of worker threads. The listener is driven by a single daemon timer thread
+ * shared by all trackers, which reads the counters once per interval.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * try (ProgressTracker tracker = ProgressTracker.start(listener, Duration.ofSeconds(1))) {
+ *     tracker.addTotal(files.size(), -1);
+ *     for (Path file : files) {
+ *         process(file);
+ *         tracker.advance(1, Files.size(file));
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Joshua Salcedo
+ * @since 1.4.2
+ */
+public final class ProgressTracker implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ProgressTracker.class);
+
+    /**
+     * The default interval between progress samples.
+     */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(1);
+
+    private final ProgressListener listener;
+    private final Object lock = new Object();
+    private final long startNanos = System.nanoTime();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder totalItems = new LongAdder();
+    private final LongAdder totalBytes = new LongAdder();
+    private final AtomicBoolean unknownTotalItems = new AtomicBoolean(true);
+    private final AtomicBoolean unknownTotalBytes = new AtomicBoolean(true);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final ScheduledFuture<?> sampler;
+
+    private ProgressTracker(ProgressListener listener, Duration interval) {
+        this.listener = listener;
+        long intervalNanos = Math.max(1, interval.toNanos());
+        this.sampler = Timer.EXECUTOR.scheduleAtFixedRate(
+            this::sample, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Starts tracking and schedules the listener at the given interval.
+     *
+     * @param listener the listener to notify
+     * @param interval the time between samples, or null for {@link #DEFAULT_INTERVAL}
+     * @return a new ProgressTracker instance
+     * @throws IllegalArgumentException if listener is null
+     */
+    public static ProgressTracker start(ProgressListener listener, Duration interval) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        return new ProgressTracker(listener, interval != null ? interval : DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Adds to the expected totals. A negative value leaves that total unchanged.
+     *
+     * @param itemCount the number of additional files expected
+     * @param byteCount the number of additional bytes expected
+     */
+    public void addTotal(long itemCount, long byteCount) {
+        if (itemCount >= 0) {
+            totalItems.add(itemCount);
+            unknownTotalItems.set(false);
+        }
+        if (byteCount >= 0) {
+            totalBytes.add(byteCount);
+            unknownTotalBytes.set(false);
+        }
+    }
+
+    /**
+     * Records processed files and bytes.
+     *
+     * @param itemCount the number of files processed
+     * @param byteCount the number of bytes processed
+     */
+    public void advance(long itemCount, long byteCount) {
+        items.add(itemCount);
+        if (byteCount > 0) {
+            bytes.add(byteCount);
+        }
+    }
+
+    /**
+     * Returns the current progress without notifying the listener.
+     *
+     * @return the current progress sample
+     */
+    public Progress snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * Stops sampling and delivers the final progress to the listener.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            sampler.cancel(false);
+            synchronized (lock) {
+                publish(true);
+            }
+        }
+    }
+
+    private Progress snapshot(boolean done) {
+        return new Progress(
+            items.sum(),
+            bytes.sum(),
+            unknownTotalItems.get() ? -1 : totalItems.sum(),
+            unknownTotalBytes.get() ? -1 : totalBytes.sum(),
+            Duration.ofNanos(System.nanoTime() - startNanos),
+            done);
+    }
+
+    private void sample() {
+        synchronized (lock) {
+            // A sample racing with close() must not arrive after the final one
+            if (!closed.get()) {
+                publish(false);
+            }
+        }
+    }
+
+    private void publish(boolean done) {
+        try {
+            listener.onProgress(snapshot(done));
+        } catch (RuntimeException e) {
+            // A failing listener must not cancel the sampler or abort the job
+            logger.warn("Progress listener failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Holder for the shared timer thread, created on first use.
+     */
+    private static final class Timer {
+        static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "io-progress-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
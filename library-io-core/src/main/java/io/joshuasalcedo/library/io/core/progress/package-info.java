@@ -0,0 +1,45 @@
+/**
+ * Provides progress reporting for long-running Find and Execute jobs.
+ *
+ * <p>Jobs count processed files and bytes in cheap concurrent counters. A shared timer
+ * thread samples those counters at a fixed interval and hands a snapshot to the
+ * listener, so reporting costs the same whether a job handles ten files per second
+ * or a million.</p>
+ *
+ * <h2>Main Components</h2>
+ * <dl>
+ *   <dt>{@link io.joshuasalcedo.library.io.core.progress.ProgressListener}</dt>
+ *   <dd>Callback receiving periodic progress samples</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.progress.Progress}</dt>
+ *   <dd>Immutable sample with counts, totals, throughput and ETA</dd>
+ *
+ *   <dt>{@link io.joshuasalcedo.library.io.core.progress.ProgressTracker}</dt>
+ *   <dd>Counters and sampling timer used by Find and Execute</dd>
+ * </dl>
+ *
+ * <h2>Usage Examples</h2>
+ * <pre>{@code
+ * // Report copy progress every two seconds
+ * Execute.on(files)
+ *     .withProgress(p -> System.out.println(p.items() + "/" + p.totalItems()
+ *         + " files, ETA " + p.eta().orElse(null)), Duration.ofSeconds(2))
+ *     .copyTo(Paths.get("/backup"))
+ *     .execute();
+ *
+ * // Report how many files a search has visited
+ * Find.in("/share")
+ *     .matching("*.log")
+ *     .withProgress(p -> System.out.println("Visited " + p.items() + " files"))
+ *     .execute();
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * <p>ProgressTracker may be updated from any number of threads. Listeners are always
+ * called from the timer thread, except for the final sample, which is delivered on
+ * the thread that finishes the job.</p>
+ *
+ * @since 1.4.2
+ * @author Joshua Salcedo
+ */
+package io.joshuasalcedo.library.io.core.progress;
@@ -0,0 +1,170 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * ASCII fast paths for the most frequent {@link TextFormatter} operations.
+ *
+ * <p>Case conversion of longer ASCII strings works on the Latin-1 bytes eight at a
+ * time (SWAR): for each byte of a {@code long}, adding a constant sets the high bit
+ * exactly when the byte is at or above a bound, so two additions mark the letters in
+ * range and the mark, shifted to {@code 0x20}, flips their case. Text containing any
+ * non-ASCII character, and text in a locale with special rules for ASCII letters
+ * (Turkish, Azerbaijani, Lithuanian), goes through {@link String#toUpperCase()} and
+ * {@link String#toLowerCase()} instead, as does short text, where the JDK's own
+ * Latin-1 path is faster.</p>
+ */
+final class Ascii {
+
+    /** Below this length the JDK conversion beats copying to bytes and back. */
+    private static final int SWAR_MIN_LENGTH = 64;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /** Adding these sets the high bit of bytes {@code >= 'a'}, {@code > 'z'}, {@code >= 'A'}, {@code > 'Z'}. */
+    private static final long FROM_LOWER_A = 0x1F1F1F1F1F1F1F1FL;
+    private static final long ABOVE_LOWER_Z = 0x0505050505050505L;
+    private static final long FROM_UPPER_A = 0x3F3F3F3F3F3F3F3FL;
+    private static final long ABOVE_UPPER_Z = 0x2525252525252525L;
+
+    /** The characters matched by {@code \s}: space, tab, line feed, vertical tab, form feed, carriage return. */
+    private static final long WHITESPACE = (1L << ' ') | (1L << '\t') | (1L << '\n') | (1L << 0x0B) | (1L << '\f') | (1L << '\r');
+
+    private Ascii() {
+    }
+
+    /**
+     * Equivalent to {@link String#toUpperCase()}.
+     */
+    static String toUpperCase(String text) {
+        if (text.length() < SWAR_MIN_LENGTH || !isAscii(text) || !isAsciiSafeLocale()) {
+            return text.toUpperCase();
+        }
+        return flipCase(text, FROM_LOWER_A, ABOVE_LOWER_Z, 'a', 'z');
+    }
+
+    /**
+     * Equivalent to {@link String#toLowerCase()}.
+     */
+    static String toLowerCase(String text) {
+        if (text.length() < SWAR_MIN_LENGTH || !isAscii(text) || !isAsciiSafeLocale()) {
+            return text.toLowerCase();
+        }
+        return flipCase(text, FROM_UPPER_A, ABOVE_UPPER_Z, 'A', 'Z');
+    }
+
+    /**
+     * Removes the characters matched by {@code \s}, returning the same instance if
+     * there are none.
+     */
+    static String removeWhitespace(String text) {
+        int length = text.length();
+        int first = 0;
+        while (first < length && !isWhitespace(text.charAt(first))) {
+            first++;
+        }
+        if (first == length) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(length - 1);
+        result.append(text, 0, first);
+        for (int i = first + 1; i < length; i++) {
+            char c = text.charAt(i);
+            if (!isWhitespace(c)) {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Writes the text in upper or lower case, with the same result as
+     * {@link #toUpperCase(String)} or {@link #toLowerCase(String)}. ASCII text is
+     * converted character by character as it is written; other text is converted as a
+     * String first.
+     */
+    static void appendCase(CharSequence text, boolean upper, Appendable out) throws IOException {
+        if (!isAscii(text) || !isAsciiSafeLocale()) {
+            String value = text.toString();
+            out.append(upper ? value.toUpperCase() : value.toLowerCase());
+            return;
+        }
+        char low = upper ? 'a' : 'A';
+        char high = upper ? 'z' : 'Z';
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            out.append(c >= low && c <= high ? (char) (c ^ 0x20) : c);
+        }
+    }
+
+    /**
+     * Writes the text without the characters matched by {@code \s}, copying the runs
+     * between them.
+     */
+    static void appendWithoutWhitespace(CharSequence text, Appendable out) throws IOException {
+        int runStart = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (isWhitespace(text.charAt(i))) {
+                if (i > runStart) {
+                    out.append(text, runStart, i);
+                }
+                runStart = i + 1;
+            }
+        }
+        if (runStart < length) {
+            out.append(text, runStart, length);
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c <= ' ' && (WHITESPACE >>> c & 1) != 0;
+    }
+
+    /**
+     * Flips the case bit of every byte in {@code [low, high]}, eight bytes at a time.
+     */
+    private static String flipCase(String text, long fromLow, long aboveHigh, char low, char high) {
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        int i = 0;
+        long changed = 0;
+        for (int end = bytes.length - 7; i < end; i += 8) {
+            long x = (long) LONGS.get(bytes, i);
+            // Bytes are ASCII, so no addition carries into the next byte
+            long inRange = (x + fromLow) & ~(x + aboveHigh) & HIGH_BITS;
+            changed |= inRange;
+            LONGS.set(bytes, i, x ^ (inRange >>> 2));
+        }
+        for (; i < bytes.length; i++) {
+            byte b = bytes[i];
+            if (b >= low && b <= high) {
+                bytes[i] = (byte) (b ^ 0x20);
+                changed = 1;
+            }
+        }
+        return changed == 0 ? text : new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static boolean isAscii(CharSequence text) {
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether ASCII letters map to ASCII letters in the default locale.
+     */
+    private static boolean isAsciiSafeLocale() {
+        String language = Locale.getDefault().getLanguage();
+        return !language.equals("tr") && !language.equals("az") && !language.equals("lt");
+    }
+}
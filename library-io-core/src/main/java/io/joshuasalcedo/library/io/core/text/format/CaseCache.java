@@ -0,0 +1,211 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of case conversions, for code that converts the same
+ * identifiers over and over, such as field and column names in a code generator.
+ *
+ * <p>Each {@link TextFormatter.CaseType} has its own concurrent map keyed by the
+ * input text, so a repeated conversion is one hash lookup on the String's cached hash
+ * code, with no key object and no locking. When the cache is full, a new entry
+ * replaces one picked by the clock policy: every entry has a reference bit that a hit
+ * sets, and the clock hand walks the entries in insertion order, clearing set bits,
+ * until it finds an entry that was not used since the last pass. Misses take a lock
+ * to insert; the conversion itself runs outside it.</p>
+ *
+ * <p>Text longer than {@value #MAX_CACHED_LENGTH} characters is converted without
+ * being cached, so a large document does not stay in memory as a key.</p>
+ *
+ * <pre>{@code
+ * CaseCache cache = CaseCache.create(10_000);
+ *
+ * TextFormat.of("userAccountId").withCaseCache(cache).toSnakeCase().get();   // miss
+ * TextFormat.of("userAccountId").withCaseCache(cache).toSnakeCase().get();   // hit
+ *
+ * TextPipeline column = TextFormat.pipeline().withCaseCache(cache).toSnakeCase().compile();
+ * cache.hitRate();                                                           // 0.5
+ * }</pre>
+ */
+public final class CaseCache {
+
+    /** Text longer than this is converted without being cached. */
+    public static final int MAX_CACHED_LENGTH = 256;
+
+    private final ConcurrentHashMap<String, Entry>[] maps;
+    private final Entry[] ring;
+    private int count;
+    private int hand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final TextFormatter formatter = new TextFormatterImpl(this);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private CaseCache(int maximumSize) {
+        TextFormatter.CaseType[] caseTypes = TextFormatter.CaseType.values();
+        this.maps = new ConcurrentHashMap[caseTypes.length];
+        for (int i = 0; i < caseTypes.length; i++) {
+            maps[i] = new ConcurrentHashMap<>();
+        }
+        this.ring = new Entry[maximumSize];
+    }
+
+    /**
+     * Creates a cache holding at most the given number of conversions.
+     * @param maximumSize the maximum number of cached conversions, across all case types
+     * @return a new, empty CaseCache
+     * @throws IllegalArgumentException if maximumSize is not positive
+     */
+    public static CaseCache create(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        return new CaseCache(maximumSize);
+    }
+
+    /**
+     * Converts the text to the case, returning the cached result if there is one.
+     * @param text the input text
+     * @param caseType the target case type
+     * @return the converted text
+     * @throws IllegalArgumentException if caseType is null
+     */
+    public String convert(String text, TextFormatter.CaseType caseType) {
+        if (caseType == null) {
+            throw new IllegalArgumentException("Case type cannot be null");
+        }
+        if (text == null || text.length() > MAX_CACHED_LENGTH) {
+            return TextFormatterImpl.INSTANCE.toCase(text, caseType);
+        }
+        ConcurrentHashMap<String, Entry> map = maps[caseType.ordinal()];
+        Entry entry = map.get(text);
+        if (entry != null) {
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        String value = TextFormatterImpl.INSTANCE.toCase(text, caseType);
+        admit(map, new Entry(caseType, text, value));
+        return value;
+    }
+
+    /**
+     * Gets the number of conversions answered from the cache.
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of cacheable conversions that were not in the cache.
+     * @return the miss count
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of entries removed to make room for new ones.
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the share of cacheable conversions answered from the cache.
+     * @return the hit rate between 0 and 1, or 0 if nothing was converted yet
+     */
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Gets the number of cached conversions.
+     * @return the current size
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Gets the maximum number of cached conversions.
+     * @return the maximum size
+     */
+    public int maximumSize() {
+        return ring.length;
+    }
+
+    /**
+     * Removes all cached conversions. The hit, miss and eviction counts are kept.
+     */
+    public synchronized void clear() {
+        for (ConcurrentHashMap<String, Entry> map : maps) {
+            map.clear();
+        }
+        Arrays.fill(ring, null);
+        count = 0;
+        hand = 0;
+    }
+
+    /**
+     * Gets a formatter whose case conversions go through this cache.
+     */
+    TextFormatter formatter() {
+        return formatter;
+    }
+
+    /**
+     * Inserts the entry, evicting the first entry the clock hand finds unreferenced
+     * if the cache is full.
+     */
+    private synchronized void admit(ConcurrentHashMap<String, Entry> map, Entry entry) {
+        if (map.containsKey(entry.key)) {
+            // Another thread converted the same text meanwhile
+            return;
+        }
+        if (count < ring.length) {
+            ring[count++] = entry;
+        } else {
+            Entry victim = ring[hand];
+            while (victim.referenced) {
+                victim.referenced = false;
+                hand = (hand + 1) % ring.length;
+                victim = ring[hand];
+            }
+            maps[victim.caseType.ordinal()].remove(victim.key);
+            ring[hand] = entry;
+            hand = (hand + 1) % ring.length;
+            evictions.increment();
+        }
+        map.put(entry.key, entry);
+    }
+
+    /**
+     * One cached conversion and its clock reference bit.
+     */
+    private static final class Entry {
+
+        final TextFormatter.CaseType caseType;
+        final String key;
+        final String value;
+        volatile boolean referenced;
+
+        Entry(TextFormatter.CaseType caseType, String key, String value) {
+            this.caseType = caseType;
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Splits text into words and joins them in a target case, in a single pass.
+ *
+ * <p>Word boundaries are whitespace, {@code '_'} and {@code '-'}, a lowercase letter or
+ * digit followed by an uppercase letter ({@code "fooBar"}), and the last letter of an
+ * acronym followed by a lowercase letter ({@code "HTTPServer"} is {@code HTTP} and
+ * {@code Server}). Each character is read once and written once into a builder sized
+ * for the result, or straight into any {@link Appendable}, so no regular expressions
+ * or intermediate strings are involved.</p>
+ *
+ * <p>The {@code is...} checks read the text once and allocate nothing.</p>
+ */
+final class CaseTokenizer {
+
+    private static final char NO_SEPARATOR = 0;
+
+    private CaseTokenizer() {
+    }
+
+    /**
+     * Converts text to camelCase: {@code "HTTP server_url"} becomes {@code "httpServerUrl"}.
+     */
+    static String toCamelCase(String text) {
+        return join(text, NO_SEPARATOR, false, true);
+    }
+
+    /**
+     * Converts text to PascalCase: {@code "HTTP server_url"} becomes {@code "HttpServerUrl"}.
+     */
+    static String toPascalCase(String text) {
+        return join(text, NO_SEPARATOR, true, true);
+    }
+
+    /**
+     * Converts text to snake_case: {@code "HTTPServer url"} becomes {@code "http_server_url"}.
+     */
+    static String toSnakeCase(String text) {
+        return join(text, '_', false, false);
+    }
+
+    /**
+     * Converts text to kebab-case: {@code "HTTPServer url"} becomes {@code "http-server-url"}.
+     */
+    static String toKebabCase(String text) {
+        return join(text, '-', false, false);
+    }
+
+    /**
+     * Checks whether the text has no lowercase or titlecase letters.
+     */
+    static boolean isUpperCase(String text) {
+        for (int i = 0, n = text.length(); i < n; ) {
+            int cp = text.codePointAt(i);
+            if (Character.isLowerCase(cp) || Character.isTitleCase(cp)) {
+                return false;
+            }
+            i += Character.charCount(cp);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the text has no uppercase or titlecase letters.
+     */
+    static boolean isLowerCase(String text) {
+        for (int i = 0, n = text.length(); i < n; ) {
+            int cp = text.codePointAt(i);
+            if (Character.isUpperCase(cp) || Character.isTitleCase(cp)) {
+                return false;
+            }
+            i += Character.charCount(cp);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the text is letters and digits only, starting with a lowercase
+     * letter ({@code camelCase}) or an uppercase one ({@code PascalCase}).
+     */
+    static boolean isCamelCase(String text, boolean upperFirst) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        int first = text.codePointAt(0);
+        if (upperFirst ? !Character.isUpperCase(first) : !Character.isLowerCase(first)) {
+            return false;
+        }
+        for (int i = Character.charCount(first), n = text.length(); i < n; ) {
+            int cp = text.codePointAt(i);
+            if (!Character.isLetterOrDigit(cp)) {
+                return false;
+            }
+            i += Character.charCount(cp);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the text is lowercase words of letters and digits joined by
+     * single separators, with none at either end.
+     */
+    static boolean isSeparated(String text, char separator) {
+        int length = text.length();
+        if (length == 0 || text.charAt(0) == separator || text.charAt(length - 1) == separator) {
+            return false;
+        }
+        boolean afterSeparator = false;
+        for (int i = 0; i < length; ) {
+            int cp = text.codePointAt(i);
+            if (cp == separator) {
+                if (afterSeparator) {
+                    return false;
+                }
+                afterSeparator = true;
+            } else if (Character.isDigit(cp) || Character.isLetter(cp) && !Character.isUpperCase(cp)
+                    && !Character.isTitleCase(cp)) {
+                afterSeparator = false;
+            } else {
+                return false;
+            }
+            i += Character.charCount(cp);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the text in camel, Pascal, snake or kebab case to the output.
+     * @throws IOException if the output fails
+     * @throws IllegalArgumentException if caseType is not one of those four
+     */
+    static void appendTo(CharSequence text, TextFormatter.CaseType caseType, Appendable out) throws IOException {
+        switch (caseType) {
+            case CAMEL_CASE:
+                join(text, NO_SEPARATOR, false, true, out);
+                break;
+            case PASCAL_CASE:
+                join(text, NO_SEPARATOR, true, true, out);
+                break;
+            case SNAKE_CASE:
+                join(text, '_', false, false, out);
+                break;
+            case KEBAB_CASE:
+                join(text, '-', false, false, out);
+                break;
+            default:
+                throw new IllegalArgumentException("Not an identifier case: " + caseType);
+        }
+    }
+
+    private static String join(String text, char separator, boolean capitalizeFirst, boolean capitalizeRest) {
+        int length = text.length();
+        // Identifiers rarely gain more than one separator per four characters
+        StringBuilder out = new StringBuilder(separator == NO_SEPARATOR ? length : length + (length >> 2));
+        try {
+            join(text, separator, capitalizeFirst, capitalizeRest, out);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes every word in lowercase, optionally capitalizing the first letter of the
+     * first word and of the following words, with the separator between words.
+     */
+    private static void join(CharSequence text, char separator, boolean capitalizeFirst, boolean capitalizeRest,
+                             Appendable out) throws IOException {
+        int length = text.length();
+        boolean inWord = false;
+        int words = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (isSeparator(c)) {
+                inWord = false;
+                continue;
+            }
+            if (!inWord || isHump(text, i, c)) {
+                if (words > 0 && separator != NO_SEPARATOR) {
+                    out.append(separator);
+                }
+                boolean capital = words == 0 ? capitalizeFirst : capitalizeRest;
+                out.append(capital ? Character.toUpperCase(c) : Character.toLowerCase(c));
+                words++;
+                inWord = true;
+            } else {
+                out.append(Character.toLowerCase(c));
+            }
+        }
+    }
+
+    /**
+     * Checks whether an uppercase letter inside a word starts a new word.
+     */
+    private static boolean isHump(CharSequence text, int i, char c) {
+        if (!Character.isUpperCase(c)) {
+            return false;
+        }
+        char previous = text.charAt(i - 1);
+        if (Character.isLowerCase(previous) || Character.isDigit(previous)) {
+            return true;
+        }
+        // The last capital of an acronym belongs to the next word: "XMLParser" -> XML, Parser
+        return Character.isUpperCase(previous)
+            && i + 1 < text.length()
+            && Character.isLowerCase(text.charAt(i + 1));
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '_' || c == '-' || Character.isWhitespace(c);
+    }
+}
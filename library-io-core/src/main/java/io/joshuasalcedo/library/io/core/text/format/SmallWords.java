@@ -0,0 +1,176 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * An immutable, case-insensitive set of short words that title case leaves in lower
+ * case ("of", "the", "and").
+ *
+ * <p>The set uses a perfect hash: when it is built, a multiplier is searched so that
+ * every word lands in its own slot of a power-of-two table. A lookup then hashes the
+ * characters of a region of the text, checks one slot and compares once, without
+ * creating a substring. Words whose hashes are equal, or for which the search finds
+ * no multiplier, share slots instead and a lookup compares each word in the slot.</p>
+ *
+ * <p>Building the set searches for the multiplier, which costs far more than a title
+ * case conversion. Build a set once and pass it to
+ * {@link TextFormat#toTitleCase(Locale, SmallWords)}; instances are immutable and can
+ * be shared between threads.</p>
+ *
+ * <pre>{@code
+ * SmallWords french = SmallWords.of(Set.of("le", "la", "les", "des", "de", "du"));
+ *
+ * for (String name : names) {
+ *     titles.add(TextFormat.of(name).toTitleCase(Locale.FRENCH, french).get());
+ * }
+ * }</pre>
+ */
+public final class SmallWords {
+
+    /** Common English articles, conjunctions and short prepositions. */
+    public static final SmallWords ENGLISH = of(Set.of(
+        "a", "an", "the", "and", "but", "or", "nor", "for", "so", "yet",
+        "as", "at", "by", "in", "of", "off", "on", "per", "to", "up", "via", "vs"));
+
+    private static final int SEED_ATTEMPTS = 1 << 12;
+
+    /** How many times the table may double beyond twice the word count in the search. */
+    private static final int MAX_EXTRA_BITS = 3;
+
+    /** The words and set built last by {@link #ofCached(Collection)}. */
+    private static volatile Built lastBuilt;
+
+    private record Built(Set<String> words, SmallWords smallWords) {
+    }
+
+    private final String[][] table;
+    private final int multiplier;
+    private final int shift;
+
+    private SmallWords(String[][] table, int multiplier, int shift) {
+        this.table = table;
+        this.multiplier = multiplier;
+        this.shift = shift;
+    }
+
+    /**
+     * Builds the set from the given words, ignoring case.
+     *
+     * @param words the words to keep in lower case
+     * @return the new set
+     * @throws IllegalArgumentException if words is null or contains a null or empty word
+     */
+    public static SmallWords of(Collection<String> words) {
+        if (words == null) {
+            throw new IllegalArgumentException("Small words cannot be null");
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String word : words) {
+            if (word == null || word.isEmpty()) {
+                throw new IllegalArgumentException("Small words cannot be null or empty");
+            }
+            distinct.add(word.toLowerCase(Locale.ROOT));
+        }
+
+        int bits = 1;
+        while ((1 << bits) < distinct.size() * 2) {
+            bits++;
+        }
+        // Words with equal hashes, such as "az" and "b[", can never get slots of their own
+        Set<Integer> hashes = new HashSet<>();
+        boolean distinctHashes = true;
+        for (String word : distinct) {
+            distinctHashes &= hashes.add(hash(word, 0, word.length()));
+        }
+        if (distinctHashes) {
+            for (int tableBits = bits; tableBits <= bits + MAX_EXTRA_BITS; tableBits++) {
+                int shift = 32 - tableBits;
+                for (int attempt = 0; attempt < SEED_ATTEMPTS; attempt++) {
+                    // Odd multipliers spread the hash bits over the top of the product
+                    int multiplier = 0x9E3779B9 + attempt * 2;
+                    String[][] table = place(distinct, multiplier, shift, true);
+                    if (table != null) {
+                        return new SmallWords(table, multiplier, shift);
+                    }
+                }
+            }
+        }
+        return new SmallWords(place(distinct, 0x9E3779B9, 32 - bits, false), 0x9E3779B9, 32 - bits);
+    }
+
+    /**
+     * Returns the set for the given words, reusing the set built last if it was built
+     * from the same distinct words. Code that passes the same collection for every call
+     * then builds the set once.
+     */
+    static SmallWords ofCached(Collection<String> words) {
+        Built built = lastBuilt;
+        if (built != null && words != null && built.words().size() == words.size()
+                && built.words().containsAll(words)) {
+            return built.smallWords();
+        }
+        SmallWords smallWords = of(words);
+        lastBuilt = new Built(new HashSet<>(words), smallWords);
+        return smallWords;
+    }
+
+    /**
+     * Checks whether the given word is in the set, ignoring case.
+     *
+     * @param word the word to look up
+     * @return true if the word is one of the small words
+     */
+    public boolean contains(String word) {
+        return word != null && contains(word, 0, word.length());
+    }
+
+    /**
+     * Checks whether {@code text[start, end)} is one of the words, ignoring case.
+     */
+    boolean contains(String text, int start, int end) {
+        String[] slot = table[(hash(text, start, end) * multiplier) >>> shift];
+        if (slot == null) {
+            return false;
+        }
+        for (String word : slot) {
+            if (word.length() == end - start && word.regionMatches(true, 0, text, start, end - start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Puts every word into the slot picked by its hash. If {@code perfect} is set,
+     * returns null as soon as two words pick the same slot; otherwise they share it.
+     */
+    private static String[][] place(Set<String> words, int multiplier, int shift, boolean perfect) {
+        String[][] table = new String[1 << (32 - shift)][];
+        for (String word : words) {
+            int slot = (hash(word, 0, word.length()) * multiplier) >>> shift;
+            if (table[slot] == null) {
+                table[slot] = new String[] {word};
+            } else if (perfect) {
+                return null;
+            } else {
+                String[] shared = Arrays.copyOf(table[slot], table[slot].length + 1);
+                shared[shared.length - 1] = word;
+                table[slot] = shared;
+            }
+        }
+        return table;
+    }
+
+    private static int hash(String text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + Character.toLowerCase(text.charAt(i));
+        }
+        return hash;
+    }
+}
@@ -1,21 +1,39 @@
 package io.joshuasalcedo.library.io.core.text.format;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
 /**
  * Fluent API for text formatting operations.
  * Provides a chainable interface for applying multiple text transformations.
+ *
+ * <p>Instances created with {@link #of(String)} apply each operation immediately.
+ * Instances created with {@link #lazy(String)} only record the operations and apply
+ * them when the text is read. While recording, consecutive {@code prepend},
+ * {@code append} and {@code surround} calls are merged, so the text is copied once
+ * per run of additions instead of once per call. This pays off for longer text; for
+ * short strings the eager mode is just as cheap.</p>
  */
 public class TextFormat {
     
     private String text;
-    private final TextFormatter formatter;
+    private TextFormatter formatter;
+    private final List<TextOp> pending;
+    /** How many recorded operations {@code text} already reflects. */
+    private int applied;
     
     /**
      * Private constructor to enforce factory method usage.
      * @param text the initial text
+     * @param lazy true to record operations until the text is read
      */
-    private TextFormat(String text) {
+    private TextFormat(String text, boolean lazy) {
         this.text = text;
-        this.formatter = new TextFormatterImpl();
+        this.formatter = TextFormatterImpl.INSTANCE;
+        this.pending = lazy ? new ArrayList<>() : null;
     }
     
     /**
@@ -24,15 +42,34 @@ public class TextFormat {
      * @return a new TextFormat instance
      */
     public static TextFormat of(String text) {
-        return new TextFormat(text);
+        return new TextFormat(text, false);
+    }
+
+    /**
+     * Creates a TextFormat instance that defers all operations until the text is read
+     * by {@link #get()}, {@link #toString()} or a query method.
+     * @param text the text to format
+     * @return a new lazy TextFormat instance
+     */
+    public static TextFormat lazy(String text) {
+        return new TextFormat(text, true);
     }
     
+    /**
+     * Creates a TextFormat that records operations for {@link #compile()}. The chain is
+     * written as usual and then compiled into a reusable {@link TextPipeline}.
+     * @return a new recording TextFormat instance
+     */
+    public static TextFormat pipeline() {
+        return new TextFormat("", true);
+    }
+
     /**
      * Creates a new TextFormat instance with an empty string.
      * @return a new TextFormat instance
      */
     public static TextFormat empty() {
-        return new TextFormat("");
+        return new TextFormat("", false);
     }
     
     /**
@@ -41,10 +78,25 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat toCase(TextFormatter.CaseType caseType) {
-        text = formatter.toCase(text, caseType);
-        return this;
+        return apply(TextOp.toCase(caseType));
     }
     
+    /**
+     * Sends the case conversions of this instance through the cache, so converting a
+     * text seen before is a hash lookup. A pipeline compiled from this instance uses
+     * the cache as well.
+     * @param cache the cache to use
+     * @return this TextFormat instance for chaining
+     * @throws IllegalArgumentException if cache is null
+     */
+    public TextFormat withCaseCache(CaseCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("Cache cannot be null");
+        }
+        this.formatter = cache.formatter();
+        return this;
+    }
+
     /**
      * Converts the text to UPPERCASE.
      * @return this TextFormat instance for chaining
@@ -94,28 +146,80 @@ public class TextFormat {
     }
     
     /**
-     * Converts the text to Title Case.
+     * Converts the text to Title Case in the default locale, keeping common English
+     * articles, conjunctions and short prepositions in lower case unless they are the
+     * first or last word.
      * @return this TextFormat instance for chaining
      */
     public TextFormat toTitleCase() {
         return toCase(TextFormatter.CaseType.TITLE_CASE);
     }
+
+    /**
+     * Converts the text to Title Case using the locale's word boundaries and casing,
+     * keeping the given small words in lower case unless they are the first or last
+     * word. The small words are indexed when this operation is recorded; the index built
+     * last is reused while the same words are passed again. To switch between several
+     * sets, build each once with {@link SmallWords#of(Collection)} and use
+     * {@link #toTitleCase(Locale, SmallWords)}.
+     * @param locale the locale for word boundaries and casing
+     * @param smallWords the words to keep in lower case, matched ignoring case
+     * @return this TextFormat instance for chaining
+     * @throws IllegalArgumentException if locale or smallWords is null, or a small word is null or empty
+     */
+    public TextFormat toTitleCase(Locale locale, Collection<String> smallWords) {
+        if (locale == null) {
+            throw new IllegalArgumentException("Locale cannot be null");
+        }
+        return apply(TextOp.toTitleCase(locale, SmallWords.ofCached(smallWords)));
+    }
+
+    /**
+     * Converts the text to Title Case using the locale's word boundaries and casing,
+     * keeping the given small words in lower case unless they are the first or last
+     * word.
+     * @param locale the locale for word boundaries and casing
+     * @param smallWords the words to keep in lower case, built once and reused
+     * @return this TextFormat instance for chaining
+     * @throws IllegalArgumentException if locale or smallWords is null
+     */
+    public TextFormat toTitleCase(Locale locale, SmallWords smallWords) {
+        if (locale == null) {
+            throw new IllegalArgumentException("Locale cannot be null");
+        }
+        if (smallWords == null) {
+            throw new IllegalArgumentException("Small words cannot be null");
+        }
+        return apply(TextOp.toTitleCase(locale, smallWords));
+    }
     
     /**
-     * Converts the text to Sentence case.
+     * Converts the text to Sentence case in the default locale.
      * @return this TextFormat instance for chaining
      */
     public TextFormat toSentenceCase() {
         return toCase(TextFormatter.CaseType.SENTENCE_CASE);
     }
+
+    /**
+     * Converts the text to Sentence case using the locale's casing.
+     * @param locale the locale for casing
+     * @return this TextFormat instance for chaining
+     * @throws IllegalArgumentException if locale is null
+     */
+    public TextFormat toSentenceCase(Locale locale) {
+        if (locale == null) {
+            throw new IllegalArgumentException("Locale cannot be null");
+        }
+        return apply(TextOp.toSentenceCase(locale));
+    }
     
     /**
      * Capitalizes the first letter of the text.
      * @return this TextFormat instance for chaining
      */
     public TextFormat capitalize() {
-        text = formatter.capitalize(text);
-        return this;
+        return apply(TextOp.CAPITALIZE);
     }
     
     /**
@@ -123,8 +227,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat capitalizeWords() {
-        text = formatter.capitalizeWords(text);
-        return this;
+        return apply((value, f) -> f.capitalizeWords(value));
     }
     
     /**
@@ -132,8 +235,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat reverse() {
-        text = formatter.reverse(text);
-        return this;
+        return apply((value, f) -> f.reverse(value));
     }
     
     /**
@@ -141,8 +243,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat trim() {
-        text = formatter.trim(text);
-        return this;
+        return apply(TextOp.TRIM);
     }
     
     /**
@@ -150,8 +251,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat removeWhitespace() {
-        text = formatter.removeWhitespace(text);
-        return this;
+        return apply((value, f) -> f.removeWhitespace(value));
     }
     
     /**
@@ -160,8 +260,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat truncate(int maxLength) {
-        text = formatter.truncate(text, maxLength);
-        return this;
+        return apply((value, f) -> f.truncate(value, maxLength));
     }
     
     /**
@@ -171,8 +270,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat truncate(int maxLength, String ellipsis) {
-        text = formatter.truncate(text, maxLength, ellipsis);
-        return this;
+        return apply((value, f) -> f.truncate(value, maxLength, ellipsis));
     }
     
     /**
@@ -182,8 +280,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat padLeft(int length, char padChar) {
-        text = formatter.padLeft(text, length, padChar);
-        return this;
+        return apply((value, f) -> f.padLeft(value, length, padChar));
     }
     
     /**
@@ -202,8 +299,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat padRight(int length, char padChar) {
-        text = formatter.padRight(text, length, padChar);
-        return this;
+        return apply((value, f) -> f.padRight(value, length, padChar));
     }
     
     /**
@@ -221,8 +317,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat repeat(int times) {
-        text = formatter.repeat(text, times);
-        return this;
+        return apply((value, f) -> f.repeat(value, times));
     }
     
     /**
@@ -232,8 +327,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat replace(String target, String replacement) {
-        text = formatter.replaceAll(text, target, replacement);
-        return this;
+        return apply((value, f) -> f.replaceAll(value, target, replacement));
     }
     
     /**
@@ -242,8 +336,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat wrap(int lineLength) {
-        text = formatter.wrap(text, lineLength);
-        return this;
+        return apply((value, f) -> f.wrap(value, lineLength));
     }
     
     /**
@@ -252,10 +345,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat append(String suffix) {
-        if (suffix != null) {
-            text = text + suffix;
-        }
-        return this;
+        return apply(TextOp.append(suffix));
     }
     
     /**
@@ -264,10 +354,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat prepend(String prefix) {
-        if (prefix != null) {
-            text = prefix + text;
-        }
-        return this;
+        return apply(TextOp.prepend(prefix));
     }
     
     /**
@@ -277,7 +364,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat surround(String prefix, String suffix) {
-        return prepend(prefix).append(suffix);
+        return apply(TextOp.surround(prefix, suffix));
     }
     
     /**
@@ -295,10 +382,7 @@ public class TextFormat {
      * @return this TextFormat instance for chaining
      */
     public TextFormat transform(java.util.function.Function<String, String> transformer) {
-        if (transformer != null) {
-            text = transformer.apply(text);
-        }
-        return this;
+        return apply(TextOp.transform(transformer));
     }
     
     /**
@@ -319,7 +403,7 @@ public class TextFormat {
      * @return true if blank, false otherwise
      */
     public boolean isBlank() {
-        return formatter.isBlank(text);
+        return formatter.isBlank(text());
     }
     
     /**
@@ -336,7 +420,7 @@ public class TextFormat {
      * @return true if text is in the specified case, false otherwise
      */
     public boolean isCase(TextFormatter.CaseType caseType) {
-        return formatter.getCaseConverter().isCase(text, caseType);
+        return formatter.getCaseConverter().isCase(text(), caseType);
     }
     
     /**
@@ -344,7 +428,7 @@ public class TextFormat {
      * @return the number of words
      */
     public int wordCount() {
-        return formatter.countWords(text);
+        return formatter.countWords(text());
     }
     
     /**
@@ -352,7 +436,8 @@ public class TextFormat {
      * @return the text length
      */
     public int length() {
-        return text != null ? text.length() : 0;
+        String value = text();
+        return value != null ? value.length() : 0;
     }
     
     /**
@@ -360,7 +445,32 @@ public class TextFormat {
      * @return the current text value
      */
     public String get() {
-        return text;
+        return text();
+    }
+
+    /**
+     * Appends the formatted text to the output. On a lazy instance, a final addition or
+     * case conversion writes straight to the output instead of building the result
+     * String first; it stays recorded, so the instance keeps the same text.
+     * @param out the output to append to, such as a log buffer or a writer
+     * @param <A> the output type
+     * @return the output
+     * @throws IOException if appending fails
+     * @throws IllegalArgumentException if out is null
+     */
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output cannot be null");
+        }
+        if (pending == null || applied == pending.size()) {
+            out.append(text != null ? text : "");
+            return out;
+        }
+        int last = pending.size() - 1;
+        text = TextOp.applyAll(text, pending.subList(applied, last), formatter);
+        applied = last;
+        pending.get(last).appendTo(text != null ? text : "", formatter, out);
+        return out;
     }
     
     /**
@@ -369,15 +479,93 @@ public class TextFormat {
      */
     @Override
     public String toString() {
-        return text;
+        return text();
     }
     
     /**
      * Creates a new TextFormat instance with the current text.
-     * Useful for branching operations.
+     * Useful for branching operations. A lazy instance is evaluated first and the copy
+     * is lazy as well; a case cache set with {@link #withCaseCache(CaseCache)} is kept.
      * @return a new TextFormat instance
      */
     public TextFormat copy() {
-        return new TextFormat(text);
+        TextFormat copy = new TextFormat(text(), pending != null);
+        copy.formatter = formatter;
+        return copy;
+    }
+
+    /**
+     * Compiles the operations recorded so far into an immutable, thread-safe
+     * {@link TextPipeline} that applies them to any input. Reading the text does not
+     * consume the recorded operations, so the pipeline holds all of them even if the
+     * text was read before. This instance is left unchanged and can keep recording.
+     * @return the compiled pipeline
+     * @throws IllegalStateException if this instance was not created by
+     *         {@link #pipeline()} or {@link #lazy(String)}
+     */
+    public TextPipeline compile() {
+        if (pending == null) {
+            throw new IllegalStateException("Only TextFormat.pipeline() or TextFormat.lazy() record operations");
+        }
+        return new TextPipeline(pending, formatter);
+    }
+
+    /**
+     * Applies the recorded operations to every text of the array, in parallel for
+     * large arrays. Equivalent to {@code compile().applyAll(texts)}.
+     * @param texts the texts to format
+     * @return a new array with the formatted texts, in the same order
+     * @throws IllegalArgumentException if texts is null
+     * @throws IllegalStateException if this instance was not created by
+     *         {@link #pipeline()} or {@link #lazy(String)}
+     * @see TextPipeline#applyAll(String[])
+     */
+    public String[] applyAll(String[] texts) {
+        return compile().applyAll(texts);
+    }
+
+    /**
+     * Applies the recorded operations to every text of the list, in parallel for
+     * large lists. Equivalent to {@code compile().applyAll(texts)}.
+     * @param texts the texts to format
+     * @return an unmodifiable list of the formatted texts, in the same order
+     * @throws IllegalArgumentException if texts is null
+     * @throws IllegalStateException if this instance was not created by
+     *         {@link #pipeline()} or {@link #lazy(String)}
+     * @see TextPipeline#applyAll(List)
+     */
+    public List<String> applyAll(List<String> texts) {
+        return compile().applyAll(texts);
+    }
+
+    /**
+     * Records the operation in lazy mode, merging consecutive affixes, or applies it
+     * right away.
+     */
+    private TextFormat apply(TextOp op) {
+        if (pending != null) {
+            int last = pending.size() - 1;
+            // An operation already reflected in the text must stay as it was applied
+            if (op instanceof TextOp.Affix next && last >= applied && pending.get(last) instanceof TextOp.Affix affix) {
+                pending.set(last, affix.then(next));
+            } else {
+                pending.add(op);
+            }
+        } else {
+            text = op.apply(text, formatter);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the current text, first applying the operations recorded since it was
+     * last read. The operations stay recorded for {@link #compile()}.
+     */
+    private String text() {
+        if (pending != null && applied < pending.size()) {
+            text = TextOp.applyAll(text, pending.subList(applied, pending.size()), formatter);
+            applied = pending.size();
+        }
+        return text;
     }
 }
\ No newline at end of file
@@ -1,8 +1,17 @@
 package io.joshuasalcedo.library.io.core.text.format;
 
+import java.io.IOException;
+
 /**
  * Interface for text formatting operations.
  * Provides methods for common text transformations.
+ *
+ * <p>Besides the String methods, the most common operations accept any
+ * {@link CharSequence} (a {@link StringBuilder}, a {@link java.nio.CharBuffer}, a
+ * slice of a larger document) and append their result to any {@link Appendable} (a
+ * log buffer, a {@link java.io.Writer}). The default implementations go through the
+ * String methods; the built-in formatter reads the input and writes the output
+ * directly wherever the operation allows. A null input is treated as empty text.</p>
  */
 public interface TextFormatter {
     
@@ -189,4 +198,127 @@ public interface TextFormatter {
      * @return the wrapped text
      */
     String wrap(String text, int lineLength);
-}
\ No newline at end of file
+
+    /**
+     * Appends the text converted to the specified case type.
+     * @param text the input text
+     * @param caseType the target case type
+     * @param out the output to append to
+     * @param <A> the output type
+     * @return the output
+     * @throws IOException if appending fails
+     * @throws IllegalArgumentException if out is null
+     */
+    default <A extends Appendable> A toCase(CharSequence text, CaseType caseType, A out) throws IOException {
+        requireOutput(out).append(toCase(asString(text), caseType));
+        return out;
+    }
+
+    /**
+     * Appends the text without leading and trailing whitespace.
+     * @param text the input text
+     * @param out the output to append to
+     * @param <A> the output type
+     * @return the output
+     * @throws IOException if appending fails
+     * @throws IllegalArgumentException if out is null
+     */
+    default <A extends Appendable> A trim(CharSequence text, A out) throws IOException {
+        requireOutput(out).append(trim(asString(text)));
+        return out;
+    }
+
+    /**
+     * Appends the text without any whitespace.
+     * @param text the input text
+     * @param out the output to append to
+     * @param <A> the output type
+     * @return the output
+     * @throws IOException if appending fails
+     * @throws IllegalArgumentException if out is null
+     */
+    default <A extends Appendable> A removeWhitespace(CharSequence text, A out) throws IOException {
+        requireOutput(out).append(removeWhitespace(asString(text)));
+        return out;
+    }
+
+    /**
+     * Appends the text truncated to the specified length, followed by the ellipsis if
+     * it was truncated.
+     * @param text the input text
+     * @param maxLength the maximum length
+     * @param ellipsis the ellipsis string to append
+     * @param out the output to append to
+     * @param <A> the output type
+     * @return the output
+     * @throws IOException if appending fails
+     * @throws IllegalArgumentException if out is null
+     */
+    default <A extends Appendable> A truncate(CharSequence text, int maxLength, String ellipsis, A out)
+            throws IOException {
+        requireOutput(out).append(truncate(asString(text), maxLength, ellipsis));
+        return out;
+    }
+
+    /**
+     * Appends the text padded to the specified length.
+     * @param text the input text
+     * @param length the desired length
+     * @param padChar the character to use for padding
+     * @param padLeft true to pad on the left, false to pad on the right
+     * @param out the output to append to
+     * @param <A> the output type
+     * @return the output
+     * @throws IOException if appending fails
+     * @throws IllegalArgumentException if out is null
+     */
+    default <A extends Appendable> A pad(CharSequence text, int length, char padChar, boolean padLeft, A out)
+            throws IOException {
+        requireOutput(out).append(pad(asString(text), length, padChar, padLeft));
+        return out;
+    }
+
+    /**
+     * Appends the text the specified number of times.
+     * @param text the input text
+     * @param times the number of repetitions
+     * @param out the output to append to
+     * @param <A> the output type
+     * @return the output
+     * @throws IOException if appending fails
+     * @throws IllegalArgumentException if out is null
+     */
+    default <A extends Appendable> A repeat(CharSequence text, int times, A out) throws IOException {
+        requireOutput(out).append(repeat(asString(text), times));
+        return out;
+    }
+
+    /**
+     * Checks if the text is empty or contains only whitespace.
+     * @param text the input text
+     * @return true if null, empty or whitespace only, false otherwise
+     */
+    default boolean isBlank(CharSequence text) {
+        return isBlank(asString(text));
+    }
+
+    /**
+     * Counts the number of words in the text.
+     * @param text the input text
+     * @return the word count
+     */
+    default int countWords(CharSequence text) {
+        return countWords(asString(text));
+    }
+
+    private static String asString(CharSequence text) {
+        return text != null ? text.toString() : null;
+    }
+
+    private static <A extends Appendable> A requireOutput(A out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output cannot be null");
+        }
+        return out;
+    }
+}
@@ -1,126 +1,101 @@
 package io.joshuasalcedo.library.io.core.text.format;
 
-class TextFormatterImpl implements TextFormatter {
-    /**
-     * @return the case converter implementation
-     */
-    @Override
-    public CaseConverter getCaseConverter() {
-        return new CaseConverter() {
-            @Override
-            public String convert(String text, CaseType caseType) {
-                if (text == null) {
-                    return "";
-                }
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
 
-                switch (caseType) {
-                    case UPPER_CASE:
-                        return text.toUpperCase();
-                    case LOWER_CASE:
-                        return text.toLowerCase();
-                    case CAMEL_CASE:
-                        if (text.isEmpty()) {
-                            return "";
-                        }
-                        String[] words = text.split("\\s+");
-                        StringBuilder result = new StringBuilder(words[0].toLowerCase());
-                        for (int i = 1; i < words.length; i++) {
-                            if (!words[i].isEmpty()) {
-                                result.append(Character.toUpperCase(words[i].charAt(0)))
-                                      .append(words[i].substring(1).toLowerCase());
-                            }
-                        }
-                        return result.toString();
-                    case PASCAL_CASE:
-                        if (text.isEmpty()) {
-                            return "";
-                        }
-                        String[] pascalWords = text.split("\\s+");
-                        StringBuilder pascalResult = new StringBuilder();
-                        for (String word : pascalWords) {
-                            if (!word.isEmpty()) {
-                                pascalResult.append(Character.toUpperCase(word.charAt(0)))
-                                           .append(word.substring(1).toLowerCase());
-                            }
-                        }
-                        return pascalResult.toString();
-                    case SNAKE_CASE:
-                        if (text.isEmpty()) {
-                            return "";
-                        }
-                        // First handle camelCase or PascalCase input
-                        StringBuilder snakeResult = new StringBuilder();
-                        for (int i = 0; i < text.length(); i++) {
-                            char c = text.charAt(i);
-                            if (Character.isUpperCase(c)) {
-                                if (i > 0) {
-                                    snakeResult.append('_');
-                                }
-                                snakeResult.append(Character.toLowerCase(c));
-                            } else {
-                                snakeResult.append(c);
-                            }
-                        }
-                        // Then handle spaces
-                        return snakeResult.toString().replaceAll("\\s+", "_").toLowerCase();
-                    case KEBAB_CASE:
-                        if (text.isEmpty()) {
-                            return "";
-                        }
-                        // First handle camelCase or PascalCase input
-                        StringBuilder kebabResult = new StringBuilder();
-                        for (int i = 0; i < text.length(); i++) {
-                            char c = text.charAt(i);
-                            if (Character.isUpperCase(c)) {
-                                if (i > 0) {
-                                    kebabResult.append('-');
-                                }
-                                kebabResult.append(Character.toLowerCase(c));
-                            } else {
-                                kebabResult.append(c);
-                            }
-                        }
-                        // Then handle spaces
-                        return kebabResult.toString().replaceAll("\\s+", "-").toLowerCase();
-                    case TITLE_CASE:
-                    case SENTENCE_CASE:
-                    default:
-                        return text; // Simple implementation for now
-                }
+/**
+ * The default {@link TextFormatter}. It keeps no state, so a single shared instance
+ * (and a single case converter) serves every {@link TextFormat} and
+ * {@link TextPipeline} on every thread. A {@link CaseCache} has its own instance
+ * that sends case conversions through the cache. The {@link CharSequence} and
+ * {@link Appendable} overloads read and write directly instead of going through a
+ * String, except for title and sentence case and cached conversions.
+ */
+final class TextFormatterImpl implements TextFormatter {
+
+    static final TextFormatterImpl INSTANCE = new TextFormatterImpl(null);
+
+    private static final CaseConverter CASE_CONVERTER = new CaseConverter() {
+        @Override
+        public String convert(String text, CaseType caseType) {
+            if (text == null) {
+                return "";
             }
 
-            @Override
-            public boolean isCase(String text, CaseType caseType) {
-                if (text == null) {
-                    return false;
-                }
+            switch (caseType) {
+                case UPPER_CASE:
+                    return Ascii.toUpperCase(text);
+                case LOWER_CASE:
+                    return Ascii.toLowerCase(text);
+                case CAMEL_CASE:
+                    return CaseTokenizer.toCamelCase(text);
+                case PASCAL_CASE:
+                    return CaseTokenizer.toPascalCase(text);
+                case SNAKE_CASE:
+                    return CaseTokenizer.toSnakeCase(text);
+                case KEBAB_CASE:
+                    return CaseTokenizer.toKebabCase(text);
+                case TITLE_CASE:
+                    return TitleCase.toTitleCase(text, Locale.getDefault(), SmallWords.ENGLISH);
+                case SENTENCE_CASE:
+                    return TitleCase.toSentenceCase(text, Locale.getDefault());
+                default:
+                    return text;
+            }
+        }
 
-                switch (caseType) {
-                    case UPPER_CASE:
-                        return text.equals(text.toUpperCase());
-                    case LOWER_CASE:
-                        return text.equals(text.toLowerCase());
-                    case CAMEL_CASE:
-                    case PASCAL_CASE:
-                    case SNAKE_CASE:
-                    case KEBAB_CASE:
-                    case TITLE_CASE:
-                    case SENTENCE_CASE:
-                    default:
-                        return false; // Simple implementation for now
-                }
+        @Override
+        public boolean isCase(String text, CaseType caseType) {
+            if (text == null) {
+                return false;
             }
-        };
+
+            switch (caseType) {
+                case UPPER_CASE:
+                    return CaseTokenizer.isUpperCase(text);
+                case LOWER_CASE:
+                    return CaseTokenizer.isLowerCase(text);
+                case CAMEL_CASE:
+                    return CaseTokenizer.isCamelCase(text, false);
+                case PASCAL_CASE:
+                    return CaseTokenizer.isCamelCase(text, true);
+                case SNAKE_CASE:
+                    return CaseTokenizer.isSeparated(text, '_');
+                case KEBAB_CASE:
+                    return CaseTokenizer.isSeparated(text, '-');
+                case TITLE_CASE:
+                    return TitleCase.isTitleCase(text, SmallWords.ENGLISH);
+                case SENTENCE_CASE:
+                    return TitleCase.isSentenceCase(text);
+                default:
+                    return false;
+            }
+        }
+    };
+
+    private final CaseCache cache;
+
+    TextFormatterImpl(CaseCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @return the shared case converter implementation
+     */
+    @Override
+    public CaseConverter getCaseConverter() {
+        return CASE_CONVERTER;
     }
 
     /**
      * @param text     the input text
      * @param caseType the target case type
-     * @return
+     * @return the converted text
      */
     @Override
     public String toCase(String text, CaseType caseType) {
-        return TextFormatter.super.toCase(text, caseType);
+        return cache != null ? cache.convert(text, caseType) : TextFormatter.super.toCase(text, caseType);
     }
 
     /**
@@ -138,11 +113,16 @@ class TextFormatterImpl implements TextFormatter {
 
     /**
      * @param text the input text
-     * @return
+     * @return the reversed text, keeping surrogate pairs in order
      */
     @Override
     public String reverse(String text) {
-        return "";
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        // StringBuilder.reverse swaps in place and restores surrogate pairs afterwards
+        return new StringBuilder(text).reverse().toString();
     }
 
     /**
@@ -188,7 +168,7 @@ class TextFormatterImpl implements TextFormatter {
             return "";
         }
 
-        return text.replaceAll("\\s+", "");
+        return Ascii.removeWhitespace(text);
     }
 
     /**
@@ -225,18 +205,33 @@ class TextFormatterImpl implements TextFormatter {
      * @param length  the desired length
      * @param padChar the character to use for padding
      * @param padLeft true to pad on the left, false to pad on the right
-     * @return
+     * @return the padded text, or the text itself if it is already long enough
      */
     @Override
     public String pad(String text, int length, char padChar, boolean padLeft) {
-        return "";
+        if (text == null) {
+            text = "";
+        }
+
+        int padding = length - text.length();
+        if (padding <= 0) {
+            return text;
+        }
+
+        // Fill an exactly sized array once instead of growing a builder
+        char[] result = new char[length];
+        int textStart = padLeft ? padding : 0;
+        int padStart = padLeft ? 0 : text.length();
+        Arrays.fill(result, padStart, padStart + padding, padChar);
+        text.getChars(0, text.length(), result, textStart);
+        return new String(result);
     }
 
     /**
      * @param text    the input text
      * @param length  the desired length
      * @param padChar the character to use for padding
-     * @return
+     * @return the left-padded text
      */
     @Override
     public String padLeft(String text, int length, char padChar) {
@@ -247,7 +242,7 @@ class TextFormatterImpl implements TextFormatter {
      * @param text    the input text
      * @param length  the desired length
      * @param padChar the character to use for padding
-     * @return
+     * @return the right-padded text
      */
     @Override
     public String padRight(String text, int length, char padChar) {
@@ -257,49 +252,313 @@ class TextFormatterImpl implements TextFormatter {
     /**
      * @param text  the input text
      * @param times the number of repetitions
-     * @return
+     * @return the repeated text, or an empty string if times is not positive
      */
     @Override
     public String repeat(String text, int times) {
-        return "";
+        if (text == null || times <= 0) {
+            return "";
+        }
+
+        // String.repeat allocates the exact size and copies by doubling
+        return text.repeat(times);
     }
 
     /**
      * @param text the input text
-     * @return
+     * @return true if the text is null, empty or whitespace only
      */
     @Override
     public boolean isBlank(String text) {
-        return false;
+        return text == null || text.isBlank();
     }
 
     /**
      * @param text the input text
-     * @return
+     * @return the number of runs of non-whitespace characters
      */
     @Override
     public int countWords(String text) {
-        return 0;
+        return countWords((CharSequence) text);
     }
 
     /**
      * @param text        the input text
      * @param target      the substring to replace
      * @param replacement the replacement string
-     * @return
+     * @return the text with every literal occurrence of target replaced
      */
     @Override
     public String replaceAll(String text, String target, String replacement) {
-        return "";
+        if (text == null) {
+            return "";
+        }
+        if (target == null || target.isEmpty()) {
+            return text;
+        }
+
+        // String.replace scans with indexOf, sizes the result exactly and returns the
+        // same instance when nothing matches; target is never treated as a regex
+        return text.replace(target, replacement != null ? replacement : "");
     }
 
     /**
      * @param text       the input text
      * @param lineLength the maximum line length
-     * @return
+     * @return the wrapped text; words longer than a line are kept whole
      */
     @Override
     public String wrap(String text, int lineLength) {
-        return "";
+        if (text == null) {
+            return "";
+        }
+        if (lineLength <= 0) {
+            return text;
+        }
+
+        // Greedy: each word goes on the current line if it fits, otherwise starts a new
+        // one. Runs of whitespace collapse to one space, existing line breaks are kept.
+        int length = text.length();
+        StringBuilder result = new StringBuilder(length + length / lineLength + 1);
+        int lineWidth = 0;
+        int i = 0;
+        while (i < length) {
+            int lineBreaks = 0;
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                if (text.charAt(i) == '\n') {
+                    lineBreaks++;
+                }
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            int wordStart = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int wordLength = i - wordStart;
+
+            if (result.length() > 0) {
+                if (lineBreaks > 0) {
+                    for (int b = 0; b < lineBreaks; b++) {
+                        result.append('\n');
+                    }
+                    lineWidth = 0;
+                } else if (lineWidth + 1 + wordLength > lineLength) {
+                    result.append('\n');
+                    lineWidth = 0;
+                } else {
+                    result.append(' ');
+                    lineWidth++;
+                }
+            }
+            result.append(text, wordStart, i);
+            lineWidth += wordLength;
+        }
+        return result.toString();
+    }
+
+    /**
+     * @param text     the input text
+     * @param caseType the target case type
+     * @param out      the output to append to
+     * @return the output
+     * @throws IOException if appending fails
+     */
+    @Override
+    public <A extends Appendable> A toCase(CharSequence text, CaseType caseType, A out) throws IOException {
+        requireOutput(out);
+        if (text == null) {
+            return out;
+        }
+        if (cache != null) {
+            // Cached entries are keyed by String
+            out.append(cache.convert(text.toString(), caseType));
+            return out;
+        }
+
+        switch (caseType) {
+            case UPPER_CASE:
+                Ascii.appendCase(text, true, out);
+                break;
+            case LOWER_CASE:
+                Ascii.appendCase(text, false, out);
+                break;
+            case CAMEL_CASE:
+            case PASCAL_CASE:
+            case SNAKE_CASE:
+            case KEBAB_CASE:
+                CaseTokenizer.appendTo(text, caseType, out);
+                break;
+            default:
+                // Title and sentence case need the word boundaries of the whole text
+                out.append(CASE_CONVERTER.convert(text.toString(), caseType));
+                break;
+        }
+        return out;
+    }
+
+    /**
+     * @param text the input text
+     * @param out  the output to append to
+     * @return the output
+     * @throws IOException if appending fails
+     */
+    @Override
+    public <A extends Appendable> A trim(CharSequence text, A out) throws IOException {
+        requireOutput(out);
+        if (text == null) {
+            return out;
+        }
+
+        // Same bounds as String.trim: everything up to and including the space
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        out.append(text, start, end);
+        return out;
+    }
+
+    /**
+     * @param text the input text
+     * @param out  the output to append to
+     * @return the output
+     * @throws IOException if appending fails
+     */
+    @Override
+    public <A extends Appendable> A removeWhitespace(CharSequence text, A out) throws IOException {
+        requireOutput(out);
+        if (text != null) {
+            Ascii.appendWithoutWhitespace(text, out);
+        }
+        return out;
+    }
+
+    /**
+     * @param text      the input text
+     * @param maxLength the maximum length
+     * @param ellipsis  the ellipsis string to append
+     * @param out       the output to append to
+     * @return the output
+     * @throws IOException if appending fails
+     */
+    @Override
+    public <A extends Appendable> A truncate(CharSequence text, int maxLength, String ellipsis, A out)
+            throws IOException {
+        requireOutput(out);
+        if (text == null) {
+            return out;
+        }
+
+        if (text.length() <= maxLength) {
+            out.append(text);
+        } else {
+            out.append(text, 0, maxLength).append(ellipsis != null ? ellipsis : "");
+        }
+        return out;
+    }
+
+    /**
+     * @param text    the input text
+     * @param length  the desired length
+     * @param padChar the character to use for padding
+     * @param padLeft true to pad on the left, false to pad on the right
+     * @param out     the output to append to
+     * @return the output
+     * @throws IOException if appending fails
+     */
+    @Override
+    public <A extends Appendable> A pad(CharSequence text, int length, char padChar, boolean padLeft, A out)
+            throws IOException {
+        requireOutput(out);
+        CharSequence value = text != null ? text : "";
+
+        int padding = length - value.length();
+        if (!padLeft) {
+            out.append(value);
+        }
+        for (int i = 0; i < padding; i++) {
+            out.append(padChar);
+        }
+        if (padLeft) {
+            out.append(value);
+        }
+        return out;
+    }
+
+    /**
+     * @param text  the input text
+     * @param times the number of repetitions
+     * @param out   the output to append to
+     * @return the output
+     * @throws IOException if appending fails
+     */
+    @Override
+    public <A extends Appendable> A repeat(CharSequence text, int times, A out) throws IOException {
+        requireOutput(out);
+        if (text == null) {
+            return out;
+        }
+
+        for (int i = 0; i < times; i++) {
+            out.append(text);
+        }
+        return out;
+    }
+
+    /**
+     * @param text the input text
+     * @return true if the text is null, empty or whitespace only
+     */
+    @Override
+    public boolean isBlank(CharSequence text) {
+        if (text == null) {
+            return true;
+        }
+
+        // Same test as String.isBlank, without copying the sequence
+        for (int i = 0, n = text.length(); i < n; ) {
+            int cp = Character.codePointAt(text, i);
+            if (!Character.isWhitespace(cp)) {
+                return false;
+            }
+            i += Character.charCount(cp);
+        }
+        return true;
+    }
+
+    /**
+     * @param text the input text
+     * @return the number of runs of non-whitespace characters
+     */
+    @Override
+    public int countWords(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            boolean whitespace = Character.isWhitespace(text.charAt(i));
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+        }
+        return words;
+    }
+
+    private static <A extends Appendable> A requireOutput(A out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output cannot be null");
+        }
+        return out;
     }
 }
@@ -0,0 +1,174 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * One recorded {@link TextFormat} operation.
+ *
+ * <p>Consecutive prefixes and suffixes are fused with {@link Affix#then(Affix)} when
+ * they are recorded: a run such as {@code prepend("[app] ").append(" ok").surround("<", ">")}
+ * becomes one affix that copies the text once, instead of producing a String per step.
+ * Trimming and case changes already return the same String when nothing changes, so
+ * they are applied as they are.</p>
+ */
+interface TextOp {
+
+    TextOp TRIM = (text, formatter) -> formatter.trim(text);
+
+    TextOp CAPITALIZE = (text, formatter) -> formatter.capitalize(text);
+
+    /**
+     * Applies the operation to a String.
+     */
+    String apply(String text, TextFormatter formatter);
+
+    /**
+     * Applies the operation and appends the result. Additions and case conversions
+     * write straight to the output; other operations append the String they return.
+     */
+    default void appendTo(CharSequence text, TextFormatter formatter, Appendable out) throws IOException {
+        out.append(apply(text.toString(), formatter));
+    }
+
+    /**
+     * Returns the operation converting to the given case.
+     */
+    static TextOp toCase(TextFormatter.CaseType caseType) {
+        return CaseOps.OPS[caseType.ordinal()];
+    }
+
+    /**
+     * Returns the operation converting to title case in the locale, keeping the small
+     * words in lower case.
+     */
+    static TextOp toTitleCase(Locale locale, SmallWords smallWords) {
+        return (text, formatter) -> text != null ? TitleCase.toTitleCase(text, locale, smallWords) : "";
+    }
+
+    /**
+     * Returns the operation converting to sentence case in the locale.
+     */
+    static TextOp toSentenceCase(Locale locale) {
+        return (text, formatter) -> text != null ? TitleCase.toSentenceCase(text, locale) : "";
+    }
+
+    /**
+     * Returns the operation adding the prefix; a null prefix leaves the text unchanged.
+     */
+    static TextOp prepend(String prefix) {
+        return new Affix(prefix, null);
+    }
+
+    /**
+     * Returns the operation adding the suffix; a null suffix leaves the text unchanged.
+     */
+    static TextOp append(String suffix) {
+        return new Affix(null, suffix);
+    }
+
+    /**
+     * Returns the operation adding both; a null part leaves that side unchanged.
+     */
+    static TextOp surround(String prefix, String suffix) {
+        return new Affix(prefix, suffix);
+    }
+
+    /**
+     * Returns the operation applying a custom function; a null function does nothing.
+     */
+    static TextOp transform(Function<String, String> transformer) {
+        return (text, formatter) -> transformer != null ? transformer.apply(text) : text;
+    }
+
+    /**
+     * Applies the operations in order.
+     */
+    static String applyAll(String text, List<TextOp> ops, TextFormatter formatter) {
+        for (int i = 0, n = ops.size(); i < n; i++) {
+            text = ops.get(i).apply(text, formatter);
+        }
+        return text;
+    }
+
+    /**
+     * Adds a prefix and a suffix.
+     */
+    record Affix(String prefix, String suffix) implements TextOp {
+
+        @Override
+        public void appendTo(CharSequence text, TextFormatter formatter, Appendable out) throws IOException {
+            if (prefix != null) {
+                out.append(prefix);
+            }
+            out.append(text);
+            if (suffix != null) {
+                out.append(suffix);
+            }
+        }
+
+        @Override
+        public String apply(String text, TextFormatter formatter) {
+            if (prefix != null) {
+                return suffix != null ? prefix + text + suffix : prefix + text;
+            }
+            return suffix != null ? text + suffix : text;
+        }
+
+        /**
+         * Returns one affix equivalent to this one followed by the next: the next
+         * prefix goes in front of this prefix, the next suffix after this suffix.
+         */
+        Affix then(Affix next) {
+            return new Affix(join(next.prefix, prefix), join(suffix, next.suffix));
+        }
+
+        private static String join(String first, String second) {
+            if (first == null) {
+                return second;
+            }
+            return second == null ? first : first + second;
+        }
+    }
+
+    /**
+     * One shared case conversion step per {@link TextFormatter.CaseType}.
+     */
+    final class CaseOps {
+
+        private static final TextOp[] OPS = new TextOp[TextFormatter.CaseType.values().length];
+
+        static {
+            for (TextFormatter.CaseType caseType : TextFormatter.CaseType.values()) {
+                OPS[caseType.ordinal()] = new TextOp() {
+                    @Override
+                    public String apply(String text, TextFormatter formatter) {
+                        return formatter.toCase(text, caseType);
+                    }
+
+                    @Override
+                    public void appendTo(CharSequence text, TextFormatter formatter, Appendable out) throws IOException {
+                        formatter.toCase(text, caseType, out);
+                    }
+                };
+            }
+        }
+
+        private CaseOps() {
+        }
+
+        /**
+         * Checks whether the op converts to camel, Pascal, snake or kebab case. Those
+         * append to a builder without creating one of their own, so writing them into a
+         * reused builder saves an allocation per text.
+         */
+        static boolean isIdentifierCase(TextOp op) {
+            return op == OPS[TextFormatter.CaseType.CAMEL_CASE.ordinal()]
+                || op == OPS[TextFormatter.CaseType.PASCAL_CASE.ordinal()]
+                || op == OPS[TextFormatter.CaseType.SNAKE_CASE.ordinal()]
+                || op == OPS[TextFormatter.CaseType.KEBAB_CASE.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, compiled chain of {@link TextFormat} operations that can be applied
+ * to any number of inputs.
+ *
+ * <p>A pipeline is created once with {@link TextFormat#compile()} and holds its steps
+ * already resolved, with consecutive additions merged. Applying it only runs those
+ * steps; no {@code TextFormat} is created and no chain is rebuilt per input. Pipelines
+ * keep no per-call state, so one instance can be shared by any number of threads.</p>
+ *
+ * <pre>{@code
+ * TextPipeline logLine = TextFormat.pipeline()
+ *     .trim()
+ *     .toLowerCase()
+ *     .surround("[", "]")
+ *     .compile();
+ *
+ * logLine.apply("  ERROR  ");                 // "[error]"
+ * records.stream().map(logLine::apply)...     // or logLine.applyAll(records.stream())
+ * logLine.apply(level, logBuffer);            // appends "[error]" to a StringBuilder
+ * }</pre>
+ */
+public final class TextPipeline {
+
+    /** Below this many texts per task, splitting costs more than it saves. */
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    /** Chunks per worker, so that workers finishing early can take over remaining chunks. */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final TextOp[] steps;
+    private final TextFormatter formatter;
+    private final boolean reuseBuffer;
+
+    TextPipeline(List<TextOp> steps, TextFormatter formatter) {
+        this.steps = steps.toArray(new TextOp[0]);
+        this.formatter = formatter;
+        // A cached conversion already returns a shared String, so only the plain one gains
+        this.reuseBuffer = this.steps.length > 0
+            && formatter == TextFormatterImpl.INSTANCE
+            && TextOp.CaseOps.isIdentifierCase(this.steps[this.steps.length - 1]);
+    }
+
+    /**
+     * Applies the pipeline to one input.
+     * @param text the text to format
+     * @return the formatted text
+     */
+    public String apply(String text) {
+        for (TextOp step : steps) {
+            text = step.apply(text, formatter);
+        }
+        return text;
+    }
+
+    /**
+     * Applies the pipeline to one input and appends the result. The last step writes
+     * to the output directly when it is an addition or a case conversion, so the
+     * result of a pipeline ending in {@code surround}, {@code append} or
+     * {@code toSnakeCase}, for example, is never built as a String. A pipeline with
+     * one such step reads the input sequence without copying it first.
+     * @param text the text to format; null is treated as empty
+     * @param out the output to append to
+     * @param <A> the output type
+     * @return the output
+     * @throws IOException if appending fails
+     * @throws IllegalArgumentException if out is null
+     */
+    public <A extends Appendable> A apply(CharSequence text, A out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output cannot be null");
+        }
+        if (steps.length == 0) {
+            out.append(text != null ? text : "");
+            return out;
+        }
+        CharSequence value = text != null ? text : "";
+        int last = steps.length - 1;
+        if (last > 0) {
+            String head = value.toString();
+            for (int i = 0; i < last; i++) {
+                head = steps[i].apply(head, formatter);
+            }
+            value = head;
+        }
+        steps[last].appendTo(value, formatter, out);
+        return out;
+    }
+
+    /**
+     * Applies the pipeline to every element of the stream, lazily and in the stream's
+     * own order and parallelism.
+     * @param texts the texts to format
+     * @return a stream of the formatted texts
+     * @throws IllegalArgumentException if texts is null
+     */
+    public Stream<String> applyAll(Stream<String> texts) {
+        if (texts == null) {
+            throw new IllegalArgumentException("Stream cannot be null");
+        }
+        return texts.map(this::apply);
+    }
+
+    /**
+     * Applies the pipeline to every text of the array, in parallel for large arrays.
+     *
+     * <p>The array is split into chunks, a few per core, that run on the common
+     * {@link ForkJoinPool}; results are written into one array of the same length,
+     * at the index of their input. Each chunk reuses one builder for its texts when
+     * the last step can write into it. Arrays of up to 1024 texts are processed on the
+     * calling thread.</p>
+     * @param texts the texts to format
+     * @return a new array with the formatted texts, in the same order
+     * @throws IllegalArgumentException if texts is null
+     */
+    public String[] applyAll(String[] texts) {
+        if (texts == null) {
+            throw new IllegalArgumentException("Texts cannot be null");
+        }
+        String[] results = new String[texts.length];
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int workers = pool.getParallelism();
+        if (texts.length <= MIN_CHUNK_SIZE || workers <= 1) {
+            applyRange(texts, results, 0, texts.length);
+        } else {
+            int chunkSize = Math.max(MIN_CHUNK_SIZE, texts.length / (workers * CHUNKS_PER_WORKER) + 1);
+            pool.invoke(new Chunk(texts, results, 0, texts.length, chunkSize));
+        }
+        return results;
+    }
+
+    /**
+     * Applies the pipeline to every text of the list, in parallel for large lists, as
+     * {@link #applyAll(String[])} does.
+     * @param texts the texts to format
+     * @return an unmodifiable list of the formatted texts, in the same order
+     * @throws IllegalArgumentException if texts is null
+     */
+    public List<String> applyAll(List<String> texts) {
+        if (texts == null) {
+            throw new IllegalArgumentException("Texts cannot be null");
+        }
+        return Collections.unmodifiableList(Arrays.asList(applyAll(texts.toArray(new String[0]))));
+    }
+
+    /**
+     * Gets the number of compiled steps, after consecutive additions were merged.
+     * @return the step count
+     */
+    public int size() {
+        return steps.length;
+    }
+
+    private void applyRange(String[] texts, String[] results, int from, int to) {
+        if (!reuseBuffer) {
+            for (int i = from; i < to; i++) {
+                results[i] = apply(texts[i]);
+            }
+            return;
+        }
+        StringBuilder buffer = new StringBuilder();
+        try {
+            for (int i = from; i < to; i++) {
+                if (texts[i] == null) {
+                    results[i] = apply((String) null);
+                    continue;
+                }
+                buffer.setLength(0);
+                results[i] = apply(texts[i], buffer).toString();
+            }
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A range of the batch, split in halves until it is no larger than the chunk size.
+     */
+    private final class Chunk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String[] texts;
+        private final String[] results;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        Chunk(String[] texts, String[] results, int from, int to, int chunkSize) {
+            this.texts = texts;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                applyRange(texts, results, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Chunk(texts, results, from, middle, chunkSize),
+                new Chunk(texts, results, middle, to, chunkSize));
+        }
+    }
+}
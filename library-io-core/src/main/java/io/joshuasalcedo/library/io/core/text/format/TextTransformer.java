@@ -0,0 +1,356 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Applies a {@link TextPipeline} to every line of a file or stream without loading it
+ * into memory.
+ *
+ * <p>Input is read through pooled 64K char buffers and each line is passed through the
+ * pipeline on its own; the output is collected in another pooled buffer and written in
+ * large blocks. Line terminators are kept as they are: a line ends at {@code '\n'},
+ * and a {@code "\r\n"} terminator is written back as {@code "\r\n"}. A last line
+ * without a terminator stays without one.</p>
+ *
+ * <p>For files above the threshold set by {@link #parallelAbove(long)}, the file is
+ * split into chunks that end at line boundaries, the chunks are transformed in
+ * parallel, and their results are written in the original order. This requires a
+ * charset in which {@code '\n'} is always the single byte 0x0A (UTF-8, US-ASCII or
+ * ISO-8859-1); other charsets are processed sequentially.</p>
+ *
+ * <pre>{@code
+ * TextPipeline normalize = TextFormat.pipeline().trim().toSnakeCase().compile();
+ *
+ * long lines = TextTransformer.of(normalize)
+ *     .parallelAbove(256L * 1024 * 1024)
+ *     .transform(Paths.get("ids.csv"), Paths.get("ids-normalized.csv"));
+ * }</pre>
+ */
+public final class TextTransformer {
+
+    /**
+     * The file size above which {@link #parallel()} processes chunks in parallel: 64MB.
+     */
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 64L * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final BlockingQueue<char[]> BUFFERS =
+        new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2 + 2);
+
+    private final TextPipeline pipeline;
+    private Charset charset = StandardCharsets.UTF_8;
+    private long parallelThreshold = Long.MAX_VALUE;
+
+    private TextTransformer(TextPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * Creates a transformer applying the pipeline to each line.
+     * @param pipeline the compiled pipeline
+     * @return a new TextTransformer instance
+     * @throws IllegalArgumentException if pipeline is null
+     */
+    public static TextTransformer of(TextPipeline pipeline) {
+        if (pipeline == null) {
+            throw new IllegalArgumentException("Pipeline cannot be null");
+        }
+        return new TextTransformer(pipeline);
+    }
+
+    /**
+     * Sets the charset used to read and write files and byte streams. Defaults to UTF-8.
+     * @param charset the charset
+     * @return this TextTransformer instance for chaining
+     * @throws IllegalArgumentException if charset is null
+     */
+    public TextTransformer withCharset(Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset cannot be null");
+        }
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Processes files larger than {@link #DEFAULT_PARALLEL_THRESHOLD} in parallel chunks.
+     * @return this TextTransformer instance for chaining
+     */
+    public TextTransformer parallel() {
+        return parallelAbove(DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Processes files larger than the given size in parallel chunks.
+     * @param bytes the file size above which chunks are processed in parallel
+     * @return this TextTransformer instance for chaining
+     * @throws IllegalArgumentException if bytes is negative
+     */
+    public TextTransformer parallelAbove(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Threshold cannot be negative: " + bytes);
+        }
+        this.parallelThreshold = bytes;
+        return this;
+    }
+
+    /**
+     * Transforms every line of the source file into the target file, replacing it.
+     * @param source the file to read
+     * @param target the file to write
+     * @return the number of lines transformed
+     * @throws IOException if reading or writing fails
+     * @throws IllegalArgumentException if a path is null or both denote the same file
+     */
+    public long transform(Path source, Path target) throws IOException {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Paths cannot be null");
+        }
+        if (Files.exists(target) && Files.isSameFile(source, target)) {
+            throw new IllegalArgumentException("Source and target must be different files: " + source);
+        }
+        long size = Files.size(source);
+        if (size > parallelThreshold && size > CHUNK_SIZE && hasSingleByteNewline(charset)) {
+            return transformInChunks(source, target, size);
+        }
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = Files.newOutputStream(target)) {
+            return transform(in, out);
+        }
+    }
+
+    /**
+     * Transforms every line of the stream into the output stream. The streams are not
+     * closed; the output is flushed.
+     * @param source the stream to read
+     * @param target the stream to write
+     * @return the number of lines transformed
+     * @throws IOException if reading or writing fails
+     * @throws IllegalArgumentException if a stream is null
+     */
+    public long transform(InputStream source, OutputStream target) throws IOException {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Streams cannot be null");
+        }
+        return transform(new InputStreamReader(source, charset), new OutputStreamWriter(target, charset));
+    }
+
+    /**
+     * Transforms every line of the reader into the writer. The reader and writer are
+     * not closed; the writer is flushed.
+     * @param source the reader to read
+     * @param target the writer to write
+     * @return the number of lines transformed
+     * @throws IOException if reading or writing fails
+     * @throws IllegalArgumentException if the reader or writer is null
+     */
+    public long transform(Reader source, Writer target) throws IOException {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Reader and writer cannot be null");
+        }
+        char[] input = borrow();
+        LineWriter out = new LineWriter(target, borrow());
+        try {
+            long lines = 0;
+            // Holds a line that spans more than one read
+            StringBuilder partial = new StringBuilder();
+            int read;
+            while ((read = source.read(input, 0, input.length)) != -1) {
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (input[i] != '\n') {
+                        continue;
+                    }
+                    String line;
+                    if (partial.length() > 0) {
+                        line = partial.append(input, lineStart, i - lineStart).toString();
+                        partial.setLength(0);
+                    } else {
+                        line = new String(input, lineStart, i - lineStart);
+                    }
+                    boolean crlf = !line.isEmpty() && line.charAt(line.length() - 1) == '\r';
+                    out.write(pipeline.apply(crlf ? line.substring(0, line.length() - 1) : line));
+                    out.write(crlf ? "\r\n" : "\n");
+                    lines++;
+                    lineStart = i + 1;
+                }
+                partial.append(input, lineStart, read - lineStart);
+            }
+            if (partial.length() > 0) {
+                out.write(pipeline.apply(partial.toString()));
+                lines++;
+            }
+            out.flush();
+            return lines;
+        } finally {
+            release(input);
+            release(out.buffer);
+        }
+    }
+
+    /**
+     * Splits the file at line boundaries and transforms the chunks in parallel, a
+     * window of one chunk per processor at a time, writing results in file order.
+     */
+    private long transformInChunks(Path source, Path target, long size) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             OutputStream out = Files.newOutputStream(target)) {
+            List<long[]> chunks = chunkBoundaries(in, size);
+            int window = Runtime.getRuntime().availableProcessors();
+            long lines = 0;
+            for (int first = 0; first < chunks.size(); first += window) {
+                int count = Math.min(window, chunks.size() - first);
+                byte[][] results = new byte[count][];
+                long[] lineCounts = new long[count];
+                int offset = first;
+                try {
+                    IntStream.range(0, count).parallel().forEach(k -> {
+                        try {
+                            long[] chunk = chunks.get(offset + k);
+                            byte[] bytes = readRange(in, chunk[0], chunk[1]);
+                            ByteArrayOutputStream transformed = new ByteArrayOutputStream(bytes.length + bytes.length / 8);
+                            lineCounts[k] = transform(new ByteArrayInputStream(bytes), transformed);
+                            results[k] = transformed.toByteArray();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                for (int k = 0; k < count; k++) {
+                    out.write(results[k]);
+                    lines += lineCounts[k];
+                }
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Returns {start, end} byte ranges of about {@link #CHUNK_SIZE}, each ending right
+     * after a {@code '\n'} or at the end of the file.
+     */
+    private static List<long[]> chunkBoundaries(FileChannel in, long size) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(BUFFER_SIZE);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + CHUNK_SIZE, size);
+            // Extend the chunk to the end of the line it stops in
+            while (end < size) {
+                probe.clear();
+                int read = in.read(probe, end);
+                if (read <= 0) {
+                    end = size;
+                    break;
+                }
+                int newline = -1;
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        newline = i;
+                        break;
+                    }
+                }
+                if (newline >= 0) {
+                    end += newline + 1;
+                    break;
+                }
+                end += read;
+            }
+            chunks.add(new long[] {start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static byte[] readRange(FileChannel in, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        long position = start;
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("File shrank while transforming");
+            }
+            position += read;
+        }
+        return buffer.array();
+    }
+
+    private static boolean hasSingleByteNewline(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8)
+            || charset.equals(StandardCharsets.US_ASCII)
+            || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    private static char[] borrow() {
+        char[] buffer = BUFFERS.poll();
+        return buffer != null ? buffer : new char[BUFFER_SIZE];
+    }
+
+    private static void release(char[] buffer) {
+        BUFFERS.offer(buffer);
+    }
+
+    /**
+     * Collects output in a char buffer and writes it to the writer in full blocks.
+     */
+    private static final class LineWriter {
+
+        private final Writer out;
+        private final char[] buffer;
+        private int position;
+
+        LineWriter(Writer out, char[] buffer) {
+            this.out = out;
+            this.buffer = buffer;
+        }
+
+        void write(String text) throws IOException {
+            int length = text.length();
+            if (length > buffer.length - position) {
+                drain();
+                if (length > buffer.length) {
+                    out.write(text);
+                    return;
+                }
+            }
+            text.getChars(0, length, buffer, position);
+            position += length;
+        }
+
+        void flush() throws IOException {
+            drain();
+            out.flush();
+        }
+
+        private void drain() throws IOException {
+            if (position > 0) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+}
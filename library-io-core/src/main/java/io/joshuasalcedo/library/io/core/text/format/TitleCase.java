@@ -0,0 +1,249 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import java.text.BreakIterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Title case and sentence case conversion and checks.
+ *
+ * <p>Title case finds words with a word {@link BreakIterator}, so letters, digits and
+ * inner punctuation group into words as the locale's rules say. Creating a break
+ * iterator loads its rules, which is expensive, so one prototype per locale is kept
+ * and each conversion works on a clone.</p>
+ *
+ * <p>A sentence ends at {@code '.'}, {@code '!'} or {@code '?'} followed by whitespace.
+ * The sentence break iterator is not used because it does not start a new sentence
+ * before a lowercase letter, which is exactly the input sentence case is given.</p>
+ *
+ * <p>The checks are a single scan over the code points that allocates nothing. Their
+ * word rule is the break iterator's rule for alphabetic scripts; text in scripts
+ * segmented by dictionary, such as Thai, can be split differently.</p>
+ */
+final class TitleCase {
+
+    private static final ConcurrentMap<Locale, BreakIterator> PROTOTYPES = new ConcurrentHashMap<>();
+
+    /** Punctuation the word break iterator keeps inside a word between two letters. */
+    private static final String LETTER_JOINERS = "'\"-._\u2010";
+
+    /** Punctuation the word break iterator keeps inside a number between two digits. */
+    private static final String DIGIT_JOINERS = "'\",.";
+
+    private TitleCase() {
+    }
+
+    /**
+     * Capitalizes every word and lowercases the rest of it. Small words are kept in
+     * lower case unless they are the first or last word.
+     */
+    static String toTitleCase(String text, Locale locale, SmallWords smallWords) {
+        BreakIterator words = wordIterator(locale);
+        words.setText(text);
+
+        int lastWordStart = -1;
+        for (int end = words.last(), start = words.previous(); start != BreakIterator.DONE;
+                end = start, start = words.previous()) {
+            if (isWord(text, start)) {
+                lastWordStart = start;
+                break;
+            }
+        }
+
+        boolean localeLower = hasSpecialCasing(locale);
+        StringBuilder result = new StringBuilder(text.length());
+        boolean first = true;
+        for (int start = words.first(), end = words.next(); end != BreakIterator.DONE;
+                start = end, end = words.next()) {
+            if (!isWord(text, start)) {
+                result.append(text, start, end);
+                continue;
+            }
+            boolean small = !first && start != lastWordStart && smallWords.contains(text, start, end);
+            int head = start;
+            if (!small) {
+                int cp = text.codePointAt(start);
+                result.appendCodePoint(Character.toTitleCase(cp));
+                head += Character.charCount(cp);
+            }
+            appendLowerCase(result, text, head, end, locale, localeLower);
+            first = false;
+        }
+        return result.toString();
+    }
+
+    /**
+     * Lowercases the text and capitalizes the first letter of every sentence.
+     */
+    static String toSentenceCase(String text, Locale locale) {
+        if (hasSpecialCasing(locale)) {
+            text = text.toLowerCase(locale);
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        boolean sentenceStart = true;
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            int cp = text.codePointAt(i);
+            int next = i + Character.charCount(cp);
+            if (Character.isLetter(cp)) {
+                result.appendCodePoint(sentenceStart ? Character.toTitleCase(cp) : Character.toLowerCase(cp));
+                sentenceStart = false;
+            } else {
+                result.appendCodePoint(cp);
+                if (isSentenceEnd(text, cp, next)) {
+                    sentenceStart = true;
+                }
+            }
+            i = next;
+        }
+        return result.toString();
+    }
+
+    /**
+     * Checks whether every word starts with a capital and continues in lower case.
+     * Small words other than the first and last may also be all lower case.
+     */
+    static boolean isTitleCase(String text, SmallWords smallWords) {
+        int length = text.length();
+        boolean sawWord = false;
+        // The previous small word is only valid in lower case if it turns out not to be last
+        boolean pendingSmallLower = false;
+        int i = 0;
+        while (i < length) {
+            int cp = text.codePointAt(i);
+            if (!Character.isLetterOrDigit(cp)) {
+                i += Character.charCount(cp);
+                continue;
+            }
+            int start = i;
+            int end = wordEnd(text, i);
+            boolean capitalized = !Character.isLowerCase(cp);
+            boolean restLower = hasNoUpperCase(text, start + Character.charCount(cp), end);
+            if (!restLower) {
+                return false;
+            }
+            // Another word follows, so a small word before it was rightly in lower case
+            pendingSmallLower = false;
+            if (!capitalized) {
+                if (!sawWord || !smallWords.contains(text, start, end)) {
+                    return false;
+                }
+                pendingSmallLower = true;
+            }
+            sawWord = true;
+            i = end;
+        }
+        return sawWord && !pendingSmallLower;
+    }
+
+    /**
+     * Checks whether the first letter of every sentence is a capital and no other
+     * letter is.
+     */
+    static boolean isSentenceCase(String text) {
+        boolean sentenceStart = true;
+        boolean sawLetter = false;
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            int cp = text.codePointAt(i);
+            int next = i + Character.charCount(cp);
+            if (Character.isLetter(cp)) {
+                boolean upper = Character.isUpperCase(cp) || Character.isTitleCase(cp);
+                if (sentenceStart ? Character.isLowerCase(cp) : upper) {
+                    return false;
+                }
+                sentenceStart = false;
+                sawLetter = true;
+            } else if (isSentenceEnd(text, cp, next)) {
+                sentenceStart = true;
+            }
+            i = next;
+        }
+        return sawLetter;
+    }
+
+    /**
+     * Returns the end of the word starting at {@code i}: letters and digits, with the
+     * punctuation that the word break iterator keeps inside a word between two letters
+     * ({@code "o'neil"}, {@code "e.g"}, {@code "pub-crawl"}) or two digits
+     * ({@code "1,000.5"}).
+     */
+    private static int wordEnd(String text, int i) {
+        int length = text.length();
+        int previous = text.codePointAt(i);
+        i += Character.charCount(previous);
+        while (i < length) {
+            int cp = text.codePointAt(i);
+            if (Character.isLetterOrDigit(cp)) {
+                previous = cp;
+                i += Character.charCount(cp);
+                continue;
+            }
+            if (i + 1 >= length) {
+                break;
+            }
+            int following = text.codePointAt(i + 1);
+            boolean joinsLetters = LETTER_JOINERS.indexOf(cp) >= 0
+                && Character.isLetter(previous) && Character.isLetter(following);
+            boolean joinsDigits = DIGIT_JOINERS.indexOf(cp) >= 0
+                && Character.isDigit(previous) && Character.isDigit(following);
+            if (!joinsLetters && !joinsDigits) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Checks whether the character ends a sentence: {@code '.'}, {@code '!'} or
+     * {@code '?'} followed by whitespace or the end of the text.
+     */
+    private static boolean isSentenceEnd(String text, int cp, int next) {
+        return (cp == '.' || cp == '!' || cp == '?')
+            && (next == text.length() || Character.isWhitespace(text.codePointAt(next)));
+    }
+
+    private static boolean hasNoUpperCase(String text, int start, int end) {
+        for (int i = start; i < end; ) {
+            int cp = text.codePointAt(i);
+            if (Character.isUpperCase(cp) || Character.isTitleCase(cp)) {
+                return false;
+            }
+            i += Character.charCount(cp);
+        }
+        return true;
+    }
+
+    private static boolean isWord(String text, int start) {
+        return start < text.length() && Character.isLetterOrDigit(text.codePointAt(start));
+    }
+
+    private static void appendLowerCase(StringBuilder out, String text, int start, int end,
+                                        Locale locale, boolean localeLower) {
+        if (localeLower) {
+            out.append(text.substring(start, end).toLowerCase(locale));
+            return;
+        }
+        for (int i = start; i < end; ) {
+            int cp = text.codePointAt(i);
+            out.appendCodePoint(Character.toLowerCase(cp));
+            i += Character.charCount(cp);
+        }
+    }
+
+    /**
+     * Checks whether the locale lowercases differently from the per-character rules.
+     */
+    private static boolean hasSpecialCasing(Locale locale) {
+        String language = locale.getLanguage();
+        return language.equals("tr") || language.equals("az") || language.equals("lt");
+    }
+
+    private static BreakIterator wordIterator(Locale locale) {
+        BreakIterator prototype = PROTOTYPES.computeIfAbsent(locale, BreakIterator::getWordInstance);
+        // Break iterators keep position state, so each conversion needs its own copy
+        return (BreakIterator) prototype.clone();
+    }
+}
@@ -7,6 +7,10 @@
  * <h2>Core Components</h2>
  * <ul>
  *   <li>{@link io.joshuasalcedo.library.io.core.text.format.TextFormat} - The main fluent API entry point for text formatting</li>
+ *   <li>{@link io.joshuasalcedo.library.io.core.text.format.TextPipeline} - A compiled, reusable chain of operations</li>
+ *   <li>{@link io.joshuasalcedo.library.io.core.text.format.TextTransformer} - Applies a pipeline line by line to files and streams</li>
+ *   <li>{@link io.joshuasalcedo.library.io.core.text.format.CaseCache} - A bounded, shared cache of case conversions</li>
+ *   <li>{@link io.joshuasalcedo.library.io.core.text.format.SmallWords} - A reusable set of words that title case keeps in lower case</li>
  *   <li>{@link io.joshuasalcedo.library.io.core.text.format.TextFormatter} - The interface defining text formatting operations</li>
  *   <li>{@link io.joshuasalcedo.library.io.core.text.format.TextFormatter.CaseType} - Enumeration of supported case formats</li>
  *   <li>{@link io.joshuasalcedo.library.io.core.text.format.TextFormatter.CaseConverter} - Interface for case conversion implementations</li>
@@ -47,6 +51,17 @@
  * TextFormat.of(original).toTitleCase().get();      // "Hello World Example"
  * TextFormat.of(original).toSentenceCase().get();   // "Hello world example"
  *
+ * // Identifiers are split at '_', '-', camel humps and acronyms
+ * TextFormat.of("getHTTPResponse_code").toSnakeCase().get();   // "get_http_response_code"
+ * TextFormat.of("xml-http-request").toPascalCase().get();      // "XmlHttpRequest"
+ *
+ * // Title case keeps small words in lower case unless they come first or last
+ * TextFormat.of("the lord of the rings").toTitleCase().get();  // "The Lord of the Rings"
+ * TextFormat.of("le seigneur des anneaux")
+ *     .toTitleCase(Locale.FRENCH, Set.of("le", "la", "les", "des", "de", "du"))
+ *     .get();                                                  // "Le Seigneur des Anneaux"
+ * TextFormat.of("SHIPPED. SEE YOU SOON!").toSentenceCase().get();  // "Shipped. See you soon!"
+ *
  * // Generic case conversion
  * TextFormat.of(original).toCase(TextFormatter.CaseType.PASCAL_CASE).get();
  * // Result: "HelloWorldExample"
@@ -102,6 +117,65 @@
  * // Result: "(Start: message :End)"
  * }</pre>
  *
+ * <h3>Deferred Evaluation</h3>
+ * <pre>{@code
+ * // Operations are recorded and applied when the text is read; the four additions
+ * // are merged into one, so the line is copied once for all of them
+ * String line = TextFormat.lazy(rawLine)
+ *     .trim()
+ *     .toLowerCase()
+ *     .prepend("[app] ")
+ *     .append(" ok")
+ *     .surround("<", ">")
+ *     .get();
+ * }</pre>
+ *
+ * <h3>Compiled Pipelines</h3>
+ * <pre>{@code
+ * // Build the chain once, apply it to every record
+ * TextPipeline format = TextFormat.pipeline()
+ *     .trim()
+ *     .toSnakeCase()
+ *     .prepend("col_")
+ *     .compile();
+ *
+ * format.apply(" First Name ");                          // "col_first_name"
+ * List<String> columns = format.applyAll(headers.stream()).toList();
+ *
+ * // Large batches are split into chunks and processed on the common ForkJoinPool
+ * String[] names = TextFormat.pipeline().trim().toSnakeCase().applyAll(rawNames);
+ * }</pre>
+ *
+ * <h3>Writing to Buffers and Writers</h3>
+ * <pre>{@code
+ * // Read from any CharSequence and append to any Appendable, without intermediate Strings
+ * StringBuilder log = new StringBuilder();
+ * TextPipeline tag = TextFormat.pipeline().toSnakeCase().surround("[", "] ").compile();
+ * tag.apply(CharBuffer.wrap(document, start, end), log);      // "[user_account_id] "
+ *
+ * TextFormat.lazy(message).trim().append("\n").appendTo(writer);
+ * }</pre>
+ *
+ * <h3>Caching Conversions</h3>
+ * <pre>{@code
+ * // Generators convert the same names again and again; one cache serves all threads
+ * CaseCache names = CaseCache.create(10_000);
+ * TextPipeline column = TextFormat.pipeline().withCaseCache(names).toSnakeCase().compile();
+ *
+ * column.apply("createdAt");     // converted and cached
+ * column.apply("createdAt");     // "created_at" from the cache
+ * names.hitRate();               // 0.5
+ * }</pre>
+ *
+ * <h3>Transforming Files</h3>
+ * <pre>{@code
+ * // Normalize every line of a large CSV without loading it into memory
+ * TextPipeline normalize = TextFormat.pipeline().trim().toSnakeCase().compile();
+ * long lines = TextTransformer.of(normalize)
+ *     .parallel()
+ *     .transform(Paths.get("ids.csv"), Paths.get("ids-normalized.csv"));
+ * }</pre>
+ *
  * <h3>Conditional Operations</h3>
  * <pre>{@code
  * // Basic conditional
@@ -209,7 +283,7 @@
  *     .toKebabCase()
  *     .append(".txt")
  *     .get();
- * // Result: "my-file--version-2.0-final.txt"
+ * // Result: "my-file-version-2.0-final.txt"
  *
  * // Log message formatter
  * String logMsg = TextFormat.of("Database connection failed")
@@ -231,20 +305,22 @@
  *   <tr><td>PASCAL_CASE</td><td>HelloWorld</td><td>All words capitalized, no separators</td></tr>
  *   <tr><td>SNAKE_CASE</td><td>hello_world</td><td>Lowercase with underscore separators</td></tr>
  *   <tr><td>KEBAB_CASE</td><td>hello-world</td><td>Lowercase with hyphen separators</td></tr>
- *   <tr><td>TITLE_CASE</td><td>Hello World</td><td>First letter of each word capitalized</td></tr>
- *   <tr><td>SENTENCE_CASE</td><td>Hello world</td><td>First letter capitalized only</td></tr>
+ *   <tr><td>TITLE_CASE</td><td>Hello World</td><td>First letter of each word capitalized, small words such as "of" in lower case</td></tr>
+ *   <tr><td>SENTENCE_CASE</td><td>Hello world</td><td>First letter of each sentence capitalized</td></tr>
  * </table>
  *
  * <h2>Thread Safety</h2>
  * <p>The {@code TextFormat} class is not thread-safe as it maintains mutable state.
  * Create separate instances for concurrent use or use the {@code copy()} method to create
- * independent instances.</p>
+ * independent instances. A compiled {@code TextPipeline} is immutable and can be shared
+ * between threads.</p>
  *
  * <h2>Performance Considerations</h2>
  * <p>The fluent API creates a new {@code TextFormat} instance only at the entry point.
  * Chained operations modify the internal state, making it efficient for multiple transformations.
  * For performance-critical applications with simple operations, consider using the
- * {@code TextFormatter} interface directly.</p>
+ * {@code TextFormatter} interface directly. For long text with several additions,
+ * {@code TextFormat.lazy(String)} avoids copying the text once per addition.</p>
  *
  * @since 1.0
  * @author Joshua Salcedo
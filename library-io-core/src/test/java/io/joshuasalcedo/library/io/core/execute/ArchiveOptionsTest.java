@@ -0,0 +1,74 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the per-file compression choices of {@link ArchiveOptions}.
+ */
+public class ArchiveOptionsTest {
+
+    @TempDir
+    Path dir;
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("Sampling reads from the archived stream and leaves it at the start")
+    public void testSamplesFromStream() throws IOException {
+        byte[] random = randomBytes(10_000);
+        InputStream in = new BufferedInputStream(new ByteArrayInputStream(random), ArchiveOptions.SAMPLE_SIZE);
+
+        int level = ArchiveOptions.defaults().level(6).skipCompressed().levelOf(Path.of("data.bin"), in);
+
+        assertEquals(Deflater.NO_COMPRESSION, level);
+        assertArrayEquals(random, in.readAllBytes());
+        InputStream text = new BufferedInputStream(new ByteArrayInputStream("a".repeat(10_000).getBytes()));
+        assertEquals(6, ArchiveOptions.defaults().level(6).skipCompressed().levelOf(Path.of("log.txt"), text));
+        assertEquals(Deflater.NO_COMPRESSION,
+            ArchiveOptions.defaults().skipCompressed().levelOf(Path.of("photo.JPG"), text));
+    }
+
+    @Test
+    @DisplayName("A zip with skipCompressed stores random data and still deflates text")
+    public void testZipSkipsCompressed() throws IOException {
+        byte[] random = randomBytes(50_000);
+        Path binary = Files.write(dir.resolve("data.bin"), random);
+        Path text = Files.writeString(dir.resolve("log.txt"), "INFO started\n".repeat(5_000));
+        Path zipFile = dir.resolve("out/archive.zip");
+
+        Execute.on(List.of(binary, text)).zipTo(zipFile, ArchiveOptions.defaults().skipCompressed()).execute();
+
+        try (ZipFile zip = new ZipFile(zipFile.toFile())) {
+            ZipEntry data = zip.getEntry("data.bin");
+            ZipEntry log = zip.getEntry("log.txt");
+            assertTrue(data.getCompressedSize() >= random.length, "Level 0 keeps the bytes as they are");
+            assertTrue(log.getCompressedSize() < log.getSize() / 10);
+            try (InputStream in = zip.getInputStream(data)) {
+                assertArrayEquals(random, in.readAllBytes());
+            }
+            try (InputStream in = zip.getInputStream(log)) {
+                assertEquals(Files.readString(text), new String(in.readAllBytes()));
+            }
+        }
+    }
+}
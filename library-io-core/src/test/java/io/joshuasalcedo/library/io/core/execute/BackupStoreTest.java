@@ -0,0 +1,143 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests deduplicated snapshots written by {@link Execute#backupDeduplicated(Path)} and
+ * their restore.
+ */
+public class BackupStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private Path sourceDir;
+    private Path storeDir;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        sourceDir = Files.createDirectories(dir.resolve("data"));
+        storeDir = dir.resolve("store");
+        Files.writeString(sourceDir.resolve("a.txt"), "same content");
+        Files.writeString(sourceDir.resolve("b.txt"), "same content");
+        Files.createDirectories(sourceDir.resolve("sub"));
+        Files.writeString(sourceDir.resolve("sub/c.txt"), "other content");
+    }
+
+    private Path backup() throws IOException {
+        List<Path> result = Execute.on(sourceDir).backupDeduplicated(storeDir).execute();
+        assertEquals(1, result.size());
+        return result.get(0);
+    }
+
+    private long blobCount() throws IOException {
+        try (Stream<Path> blobs = Files.walk(storeDir.resolve("blobs"))) {
+            return blobs.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Equal contents are stored once and a snapshot restores every file")
+    public void testDeduplicatesAndRestores() throws IOException {
+        Path manifest = backup();
+
+        assertEquals(2, blobCount());
+        Path restored = dir.resolve("restored");
+        assertEquals(3, Execute.restore(manifest, restored).size());
+        assertEquals("same content", Files.readString(restored.resolve("data/a.txt")));
+        assertEquals("same content", Files.readString(restored.resolve("data/b.txt")));
+        assertEquals("other content", Files.readString(restored.resolve("data/sub/c.txt")));
+    }
+
+    @Test
+    @DisplayName("Files unchanged in size and time are not read again, changed files are")
+    public void testIncrementalSnapshot() throws IOException {
+        backup();
+        Path a = sourceDir.resolve("a.txt");
+        Path c = sourceDir.resolve("sub/c.txt");
+        FileTime time = Files.getLastModifiedTime(a);
+        // Same size and time: the next snapshot trusts the previous hash
+        Files.writeString(a, "SAME CONTENT");
+        Files.setLastModifiedTime(a, time);
+        Files.writeString(c, "changed content, longer");
+
+        Path manifest = backup();
+
+        assertEquals(3, blobCount(), "Only the changed file adds a blob");
+        Path restored = dir.resolve("restored");
+        Execute.restore(manifest, restored);
+        assertEquals("same content", Files.readString(restored.resolve("data/a.txt")));
+        assertEquals("changed content, longer", Files.readString(restored.resolve("data/sub/c.txt")));
+    }
+
+    @Test
+    @DisplayName("An unreadable latest manifest falls back to a full snapshot")
+    public void testCorruptManifestFallsBack() throws IOException {
+        Path first = backup();
+        Files.writeString(first, "# execute-snapshot v2\nnot\ta\tvalid line\n");
+
+        Path manifest = backup();
+
+        Path restored = dir.resolve("restored");
+        assertEquals(3, Execute.restore(manifest, restored).size());
+        assertEquals("other content", Files.readString(restored.resolve("data/sub/c.txt")));
+    }
+
+    @Test
+    @DisplayName("File names with line breaks, tabs and backslashes survive the manifest")
+    public void testEscapedNames() throws IOException {
+        String name = "odd\nname\twith\\back\rslash.txt";
+        Files.writeString(sourceDir.resolve(name), "odd");
+
+        Path manifest = backup();
+
+        assertEquals(5, Files.readAllLines(manifest).size(), "One header line and one line per file");
+        Path restored = dir.resolve("restored");
+        Execute.restore(manifest, restored);
+        assertEquals("odd", Files.readString(restored.resolve("data").resolve(name)));
+        assertEquals(name, BackupStore.unescape(BackupStore.escape(name)));
+        assertSame("plain.txt", BackupStore.escape("plain.txt"));
+    }
+
+    @Test
+    @DisplayName("With continueOnError a failing file is reported and left out of the snapshot")
+    public void testContinueOnError() throws IOException {
+        Path missing = sourceDir.resolve("missing.txt");
+
+        ExecuteReport report = Execute.on(List.of(sourceDir.resolve("a.txt"), missing))
+            .continueOnError()
+            .backupDeduplicated(storeDir)
+            .executeWithReport();
+
+        assertEquals(1, report.getSuccessCount());
+        assertEquals(List.of(missing), report.getFailedPaths());
+        Path manifest = report.getPaths().get(0);
+        assertEquals(2, Files.readAllLines(manifest).size());
+    }
+
+    @Test
+    @DisplayName("A dry run records every file as skipped and writes nothing")
+    public void testDryRun() throws IOException {
+        ExecuteReport report = Execute.on(sourceDir)
+            .dryRun()
+            .withLogger(message -> { })
+            .backupDeduplicated(storeDir)
+            .executeWithReport();
+
+        assertEquals(3, report.getSkippedCount());
+        assertTrue(report.getPaths().isEmpty());
+        assertFalse(Files.exists(storeDir));
+    }
+}
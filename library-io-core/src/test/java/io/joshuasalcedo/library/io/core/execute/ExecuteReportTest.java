@@ -0,0 +1,77 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the counts and retained results of an {@link ExecuteReport}.
+ */
+public class ExecuteReportTest {
+
+    @TempDir
+    Path dir;
+
+    private List<Path> files() throws IOException {
+        return List.of(
+            Files.writeString(dir.resolve("a.txt"), "12345"),
+            Files.writeString(dir.resolve("b.txt"), "123"),
+            dir.resolve("missing.txt"));
+    }
+
+    @Test
+    @DisplayName("By default only the failures are kept, while every outcome is counted")
+    public void testKeepsOnlyFailuresByDefault() throws IOException {
+        ExecuteReport report = Execute.on(files())
+            .continueOnError()
+            .copyTo(dir.resolve("out"))
+            .executeWithReport();
+
+        assertEquals(2, report.getSuccessCount());
+        assertEquals(1, report.getFailureCount());
+        assertTrue(report.hasFailures());
+        assertEquals(8, report.getBytesProcessed());
+        assertEquals(List.of(dir.resolve("missing.txt")), report.getFailedPaths());
+        assertEquals(1, report.getResults().size());
+        assertEquals(ExecuteReport.Outcome.FAILED, report.getResults().get(0).outcome());
+        assertNotNull(report.getResults().get(0).cause());
+    }
+
+    @Test
+    @DisplayName("A full report keeps the result of every path")
+    public void testFullReportKeepsEveryResult() throws IOException {
+        ExecuteReport report = Execute.on(files())
+            .continueOnError()
+            .withFullReport()
+            .copyTo(dir.resolve("out"))
+            .executeWithReport();
+
+        List<ExecuteReport.PathResult> results = report.getResults();
+        assertEquals(3, results.size());
+        assertEquals(5, results.stream().filter(r -> r.source().endsWith("a.txt")).findFirst().orElseThrow().bytes());
+        assertEquals(1, report.getFailures().size());
+    }
+
+    @Test
+    @DisplayName("Deleting counts the bytes of the deleted files, and a dry run skips everything")
+    public void testDeleteBytesAndDryRun() throws IOException {
+        List<Path> files = files().subList(0, 2);
+
+        ExecuteReport dryRun = Execute.on(files).dryRun().withLogger(message -> { }).delete().executeWithReport();
+        assertEquals(2, dryRun.getSkippedCount());
+        assertEquals(0, dryRun.getBytesProcessed());
+        assertTrue(Files.exists(files.get(0)));
+
+        ExecuteReport report = Execute.on(files).delete().executeWithReport();
+        assertEquals(2, report.getSuccessCount());
+        assertEquals(8, report.getBytesProcessed());
+        assertFalse(Files.exists(files.get(0)));
+    }
+}
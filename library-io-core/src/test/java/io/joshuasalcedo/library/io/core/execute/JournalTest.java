@@ -0,0 +1,168 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests recovery of a journal left behind by an interrupted run.
+ */
+public class JournalTest {
+
+    @TempDir
+    Path dir;
+
+    private Path journalFile;
+    private Path sourceDir;
+    private Path targetDir;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        journalFile = dir.resolve("run.journal");
+        sourceDir = Files.createDirectories(dir.resolve("source"));
+        targetDir = Files.createDirectories(dir.resolve("target"));
+        for (String name : List.of("a.txt", "b.txt", "c.txt")) {
+            Files.writeString(sourceDir.resolve(name), name);
+        }
+    }
+
+    /**
+     * Simulates a crash: a.txt was moved and marked done, b.txt was intended but never
+     * moved, and the intent for c.txt was torn while being written.
+     */
+    private void writeInterruptedJournal() throws IOException {
+        Journal journal = Journal.create(journalFile);
+        long a = journal.intend(sourceDir.resolve("a.txt"), targetDir.resolve("a.txt"));
+        journal.intend(sourceDir.resolve("b.txt"), targetDir.resolve("b.txt"));
+        journal.sync();
+        Files.move(sourceDir.resolve("a.txt"), targetDir.resolve("a.txt"));
+        journal.done(a);
+        journal.intend(sourceDir.resolve("c.txt"), targetDir.resolve("c.txt"));
+        journal.close();
+
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+    }
+
+    @Test
+    @DisplayName("Roll forward performs the incomplete move and ignores the torn intent")
+    public void testRollForward() throws IOException {
+        writeInterruptedJournal();
+
+        List<Path> moved = Journal.recover(journalFile, Journal.Recovery.ROLL_FORWARD);
+
+        assertEquals(List.of(targetDir.resolve("b.txt")), moved);
+        assertTrue(Files.exists(targetDir.resolve("a.txt")));
+        assertTrue(Files.exists(targetDir.resolve("b.txt")));
+        assertTrue(Files.exists(sourceDir.resolve("c.txt")), "Torn intent must not be performed");
+        assertFalse(Files.exists(journalFile), "Journal should be deleted after recovery");
+    }
+
+    @Test
+    @DisplayName("Roll back undoes the completed move and ignores the torn intent")
+    public void testRollBack() throws IOException {
+        writeInterruptedJournal();
+
+        List<Path> moved = Journal.recover(journalFile, Journal.Recovery.ROLL_BACK);
+
+        assertEquals(List.of(sourceDir.resolve("a.txt")), moved);
+        assertEquals("a.txt", Files.readString(sourceDir.resolve("a.txt")));
+        assertTrue(Files.exists(sourceDir.resolve("b.txt")));
+        assertTrue(Files.exists(sourceDir.resolve("c.txt")));
+        assertFalse(Files.exists(targetDir.resolve("a.txt")));
+        assertFalse(Files.exists(journalFile), "Journal should be deleted after recovery");
+    }
+
+    /**
+     * Journals a swap of a.txt and b.txt the way a rename does: both hops of each staged
+     * file are synced before anything moves. Optionally runs the first phase, then
+     * simulates a crash.
+     */
+    private void writeInterruptedSwap(boolean firstPhaseDone) throws IOException {
+        Path a = sourceDir.resolve("a.txt");
+        Path b = sourceDir.resolve("b.txt");
+        Path tempA = sourceDir.resolve(".rename-a.tmp");
+        Path tempB = sourceDir.resolve(".rename-b.tmp");
+        Journal journal = Journal.create(journalFile);
+        long stageA = journal.intend(a, tempA);
+        long stageB = journal.intend(b, tempB);
+        journal.intend(tempA, b);
+        journal.intend(tempB, a);
+        journal.sync();
+        if (firstPhaseDone) {
+            Files.move(a, tempA);
+            journal.done(stageA);
+            Files.move(b, tempB);
+            journal.done(stageB);
+        }
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Roll back before a swap started leaves both files in place")
+    public void testRollBackSwapBeforeFirstPhase() throws IOException {
+        writeInterruptedSwap(false);
+
+        assertTrue(Journal.recover(journalFile, Journal.Recovery.ROLL_BACK).isEmpty());
+        assertEquals("a.txt", Files.readString(sourceDir.resolve("a.txt")));
+        assertEquals("b.txt", Files.readString(sourceDir.resolve("b.txt")));
+    }
+
+    @Test
+    @DisplayName("Roll forward after the first phase of a swap finishes the second hops")
+    public void testRollForwardSwapAfterFirstPhase() throws IOException {
+        writeInterruptedSwap(true);
+
+        Journal.recover(journalFile, Journal.Recovery.ROLL_FORWARD);
+
+        assertEquals("b.txt", Files.readString(sourceDir.resolve("a.txt")));
+        assertEquals("a.txt", Files.readString(sourceDir.resolve("b.txt")));
+        assertFalse(Files.exists(sourceDir.resolve(".rename-a.tmp")));
+        assertFalse(Files.exists(sourceDir.resolve(".rename-b.tmp")));
+    }
+
+    @Test
+    @DisplayName("Roll back after the first phase of a swap brings both files back")
+    public void testRollBackSwapAfterFirstPhase() throws IOException {
+        writeInterruptedSwap(true);
+
+        Journal.recover(journalFile, Journal.Recovery.ROLL_BACK);
+
+        assertEquals("a.txt", Files.readString(sourceDir.resolve("a.txt")));
+        assertEquals("b.txt", Files.readString(sourceDir.resolve("b.txt")));
+        assertFalse(Files.exists(sourceDir.resolve(".rename-a.tmp")));
+        assertFalse(Files.exists(sourceDir.resolve(".rename-b.tmp")));
+    }
+
+    @Test
+    @DisplayName("Relative paths are recorded as absolute paths")
+    public void testRecordsAbsolutePaths() throws IOException {
+        Path relative = Path.of("").toAbsolutePath().relativize(sourceDir.resolve("b.txt"));
+        Journal journal = Journal.create(journalFile);
+        journal.intend(relative, targetDir.resolve("b.txt"));
+        journal.close();
+
+        String contents = new String(Files.readAllBytes(journalFile), StandardCharsets.UTF_8);
+        assertTrue(contents.contains(sourceDir.resolve("b.txt").toString()));
+
+        assertEquals(List.of(targetDir.resolve("b.txt")), Journal.recover(journalFile, Journal.Recovery.ROLL_FORWARD));
+    }
+
+    @Test
+    @DisplayName("Recovering a missing journal does nothing")
+    public void testMissingJournal() throws IOException {
+        assertTrue(Journal.recover(journalFile, Journal.Recovery.ROLL_FORWARD).isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests same-store renames and cross-device copies done by {@link Execute#moveTo(Path)}.
+ */
+public class MoveTest {
+
+    @TempDir
+    Path dir;
+
+    private List<Path> files(int count) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(Files.writeString(dir.resolve("file" + i + ".txt"), "content " + i));
+        }
+        return files;
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Files on the same store are renamed without copying any bytes")
+    public void testSameStoreRename() throws IOException {
+        List<Path> files = files(20);
+        Path out = dir.resolve("out");
+
+        ExecuteReport report = Execute.on(files).moveTo(out).executeWithReport();
+
+        assertEquals(20, report.getSuccessCount());
+        assertEquals(0, report.getBytesProcessed());
+        for (int i = 0; i < 20; i++) {
+            assertFalse(Files.exists(files.get(i)));
+            assertEquals("content " + i, Files.readString(out.resolve("file" + i + ".txt")));
+        }
+    }
+
+    @Test
+    @DisplayName("With continueOnError a failed move is reported and the others still move")
+    public void testFailedMove() throws IOException {
+        List<Path> files = new ArrayList<>(files(2));
+        Path missing = dir.resolve("missing.txt");
+        files.add(1, missing);
+        Path out = dir.resolve("out");
+
+        ExecuteReport report = Execute.on(files).continueOnError().moveTo(out).executeWithReport();
+
+        assertEquals(List.of(out.resolve("file0.txt"), out.resolve("file1.txt")), report.getPaths());
+        assertEquals(List.of(missing), report.getFailedPaths());
+    }
+
+    @Test
+    @DisplayName("Files on another device are copied with their times and then deleted")
+    public void testCrossDeviceMove() throws IOException {
+        Path shm = Paths.get("/dev/shm");
+        assumeTrue(Files.isDirectory(shm) && Files.isWritable(shm), "No second file store available");
+        assumeTrue(!Files.getFileStore(shm).equals(Files.getFileStore(dir)), "/dev/shm is on the same store");
+        List<Path> files = files(5);
+        FileTime time = FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(files.get(0), time);
+        Path out = Files.createTempDirectory(shm, "move-test");
+        try {
+            ExecuteReport report = Execute.on(files).moveTo(out).executeWithReport();
+
+            assertEquals(5, report.getSuccessCount());
+            long expectedBytes = 0;
+            for (int i = 0; i < 5; i++) {
+                Path target = out.resolve("file" + i + ".txt");
+                assertFalse(Files.exists(files.get(i)), "Source is deleted after the copy");
+                assertEquals("content " + i, Files.readString(target));
+                expectedBytes += Files.size(target);
+            }
+            assertEquals(expectedBytes, report.getBytesProcessed());
+            assertEquals(time.toMillis(), Files.getLastModifiedTime(out.resolve("file0.txt")).toMillis());
+        } finally {
+            deleteTree(out);
+        }
+    }
+}
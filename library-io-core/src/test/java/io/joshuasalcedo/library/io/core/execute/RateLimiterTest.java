@@ -0,0 +1,113 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the byte and operation limits of a {@link RateLimiter}.
+ */
+public class RateLimiterTest {
+
+    @TempDir
+    Path dir;
+
+    private static long millisSince(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Test
+    @DisplayName("Operations beyond the one-second burst wait for the operation rate")
+    public void testOperationRate() throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            files.add(Files.writeString(dir.resolve("file" + i + ".txt"), "x"));
+        }
+
+        long start = System.nanoTime();
+        List<Path> copied = Execute.on(files)
+            .withRateLimiter(RateLimiter.of(0, 20))
+            .copyTo(dir.resolve("out"))
+            .execute();
+
+        assertEquals(30, copied.size());
+        // 20 operations fit in the initial burst, the other 10 take half a second
+        assertTrue(millisSince(start) >= 400, "Took " + millisSince(start) + "ms");
+    }
+
+    @Test
+    @DisplayName("Bytes beyond the one-second burst wait for the byte rate")
+    public void testByteRate() throws IOException {
+        byte[] data = new byte[150 * 1024];
+        RateLimiter limiter = RateLimiter.of(100 * 1024, 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long start = System.nanoTime();
+        long copied = limiter.transfer(new ByteArrayInputStream(data), out);
+
+        assertEquals(data.length, copied);
+        assertEquals(data.length, out.size());
+        assertTrue(millisSince(start) >= 400, "Took " + millisSince(start) + "ms");
+    }
+
+    @Test
+    @DisplayName("Raising the rate releases a thread that is already waiting")
+    public void testRateChangeReleasesWaiters() throws Exception {
+        RateLimiter limiter = RateLimiter.of(1, 0);
+        limiter.acquireBytes(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                // Needs a full second at one byte per second
+                limiter.acquireBytes(1);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        long start = System.nanoTime();
+        waiter.start();
+        Thread.sleep(100);
+        limiter.setBytesPerSecond(0);
+        waiter.join(5000);
+
+        assertFalse(waiter.isAlive());
+        assertTrue(millisSince(start) < 900, "Took " + millisSince(start) + "ms");
+        assertEquals(0, limiter.getBytesPerSecond());
+        assertFalse(limiter.limitsBytes());
+    }
+
+    @Test
+    @DisplayName("A limited copy keeps the file times and permissions when asked")
+    public void testCopyPreservesAttributes() throws IOException {
+        Path source = Files.writeString(dir.resolve("source.txt"), "content");
+        FileTime time = FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(source, time);
+        boolean posix = Files.getFileStore(source).supportsFileAttributeView("posix");
+        if (posix) {
+            Files.setPosixFilePermissions(source, PosixFilePermissions.fromString("rw-r-----"));
+        }
+        Path target = dir.resolve("target.txt");
+
+        long bytes = RateLimiter.of(1024 * 1024, 0).copy(source, target, true);
+
+        assertEquals(7, bytes);
+        assertEquals("content", Files.readString(target));
+        assertEquals(time.toMillis(), Files.getLastModifiedTime(target).toMillis());
+        if (posix) {
+            assertEquals(Files.getPosixFilePermissions(source), Files.getPosixFilePermissions(target));
+        }
+    }
+}
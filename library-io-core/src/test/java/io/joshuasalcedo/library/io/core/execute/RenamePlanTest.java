@@ -0,0 +1,167 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests rename planning and the two-phase renames carried out by {@link Execute#rename}.
+ */
+public class RenamePlanTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file(String name) throws IOException {
+        return Files.writeString(dir.resolve(name), name);
+    }
+
+    private RenamePlan plan(Map<String, String> renames) throws IOException {
+        List<Path> sources = renames.keySet().stream().sorted().map(dir::resolve).toList();
+        for (Path source : sources) {
+            if (!Files.exists(source)) {
+                file(source.getFileName().toString());
+            }
+        }
+        return RenamePlan.of(sources, source -> source.resolveSibling(renames.get(source.getFileName().toString())));
+    }
+
+    private static RenamePlan.Kind kindOf(RenamePlan plan, String name) {
+        return plan.steps().stream()
+            .filter(step -> step.source().getFileName().toString().equals(name))
+            .findFirst()
+            .orElseThrow()
+            .kind();
+    }
+
+    @Test
+    @DisplayName("Free targets are renamed directly and unchanged names are left alone")
+    public void testDirectAndUnchanged() throws IOException {
+        RenamePlan plan = plan(Map.of("a", "x", "b", "b"));
+
+        assertEquals(RenamePlan.Kind.DIRECT, kindOf(plan, "a"));
+        assertEquals(RenamePlan.Kind.UNCHANGED, kindOf(plan, "b"));
+        assertNull(plan.steps().get(0).temp());
+    }
+
+    @Test
+    @DisplayName("Two sources claiming the same target both collide")
+    public void testSharedTargetCollides() throws IOException {
+        RenamePlan plan = plan(Map.of("a", "x", "b", "x"));
+
+        assertEquals(RenamePlan.Kind.COLLISION, kindOf(plan, "a"));
+        assertEquals(RenamePlan.Kind.COLLISION, kindOf(plan, "b"));
+        assertNotNull(plan.steps().get(0).conflict());
+    }
+
+    @Test
+    @DisplayName("An existing file that is not renamed is never replaced")
+    public void testExistingTargetCollides() throws IOException {
+        file("x");
+        RenamePlan plan = plan(Map.of("a", "x"));
+
+        assertEquals(RenamePlan.Kind.COLLISION, kindOf(plan, "a"));
+    }
+
+    @Test
+    @DisplayName("A swap stages both files through temporary names")
+    public void testSwapIsStaged() throws IOException {
+        RenamePlan plan = plan(Map.of("a", "b", "b", "a"));
+
+        for (RenamePlan.Step step : plan.steps()) {
+            assertEquals(RenamePlan.Kind.STAGED, step.kind());
+            assertNotNull(step.temp());
+            assertEquals(dir, step.temp().getParent());
+        }
+        assertNotEquals(plan.steps().get(0).temp(), plan.steps().get(1).temp());
+    }
+
+    @Test
+    @DisplayName("A chain stages every path whose target is another source")
+    public void testChainIsStaged() throws IOException {
+        RenamePlan plan = plan(Map.of("a", "b", "b", "c", "c", "d"));
+
+        assertEquals(RenamePlan.Kind.STAGED, kindOf(plan, "a"));
+        assertEquals(RenamePlan.Kind.STAGED, kindOf(plan, "b"));
+        assertEquals(RenamePlan.Kind.DIRECT, kindOf(plan, "c"));
+    }
+
+    @Test
+    @DisplayName("A blocked path fails everything that waits for its name, up the chain")
+    public void testBlockedChainCollides() throws IOException {
+        file("x");
+        RenamePlan plan = plan(Map.of("a", "b", "b", "c", "c", "x"));
+
+        assertEquals(RenamePlan.Kind.COLLISION, kindOf(plan, "c"));
+        assertEquals(RenamePlan.Kind.COLLISION, kindOf(plan, "b"));
+        assertEquals(RenamePlan.Kind.COLLISION, kindOf(plan, "a"));
+    }
+
+    @Test
+    @DisplayName("A path kept in place blocks the path that wanted its name")
+    public void testUnchangedBlocksChain() throws IOException {
+        RenamePlan plan = plan(Map.of("a", "b", "b", "b"));
+
+        assertEquals(RenamePlan.Kind.UNCHANGED, kindOf(plan, "b"));
+        assertEquals(RenamePlan.Kind.COLLISION, kindOf(plan, "a"));
+    }
+
+    @Test
+    @DisplayName("Execute swaps two files and leaves no temporary files behind")
+    public void testExecuteSwap() throws IOException {
+        Path a = file("a");
+        Path b = file("b");
+
+        List<Path> renamed = Execute.on(List.of(a, b))
+            .rename(name -> name.equals("a") ? "b" : "a")
+            .execute();
+
+        assertEquals(2, renamed.size());
+        assertEquals("b", Files.readString(a));
+        assertEquals("a", Files.readString(b));
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("A failed second-phase move puts the staged file back under its name")
+    public void testSecondPhaseFailureRestoresSource() throws IOException {
+        Path a = file("a");
+        Path b = file("b");
+
+        // b cannot move into a missing directory, so it keeps the name a wants
+        ExecuteReport report = Execute.on(List.of(a, b))
+            .rename(name -> name.equals("a") ? "b" : "missing/b")
+            .continueOnError()
+            .executeWithReport();
+
+        assertEquals(2, report.getFailureCount());
+        assertEquals("a", Files.readString(a));
+        assertEquals("b", Files.readString(b));
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count(), "No temporary file may be left behind");
+        }
+    }
+
+    @Test
+    @DisplayName("Without continueOnError the failure is rethrown after the rollback")
+    public void testSecondPhaseFailureThrows() throws IOException {
+        Path a = file("a");
+        Path b = file("b");
+
+        assertThrows(IOException.class, () -> Execute.on(List.of(a, b))
+            .rename(name -> name.equals("a") ? "b" : "missing/b")
+            .execute());
+        assertEquals("a", Files.readString(a));
+        assertEquals("b", Files.readString(b));
+    }
+}
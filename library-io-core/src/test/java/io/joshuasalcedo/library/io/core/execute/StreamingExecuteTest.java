@@ -0,0 +1,128 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import io.joshuasalcedo.library.io.core.find.Find;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests running operations on matches as the walk finds them with {@link Execute#from(Find)}.
+ */
+public class StreamingExecuteTest {
+
+    private static final int FILE_COUNT = 1500;
+
+    @TempDir
+    Path dir;
+
+    private Path sourceDir;
+    private Path out;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        sourceDir = Files.createDirectories(dir.resolve("source"));
+        out = dir.resolve("out");
+        for (int i = 0; i < FILE_COUNT; i++) {
+            Files.writeString(sourceDir.resolve("file" + i + (i % 2 == 0 ? ".txt" : ".log")), "content " + i);
+        }
+    }
+
+    private static boolean isEmptyOrMissing(Path dir) {
+        try (Stream<Path> entries = Files.list(dir)) {
+            return entries.findAny().isEmpty();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    @Test
+    @DisplayName("Every match is processed across several batches, after the filter")
+    public void testProcessesAllMatches() throws IOException {
+        ExecuteReport report = Execute.from(Find.in(sourceDir).matching("*"))
+            .filter(path -> path.getFileName().toString().endsWith(".txt"))
+            .copyTo(out)
+            .executeWithReport();
+
+        assertEquals(FILE_COUNT / 2, report.getPaths().size());
+        assertEquals(FILE_COUNT / 2, report.getSuccessCount());
+        assertEquals("content 42", Files.readString(out.resolve("file42.txt")));
+        assertFalse(Files.exists(out.resolve("file43.log")));
+    }
+
+    @Test
+    @DisplayName("Operations start on the first matches while the walk is still running")
+    public void testOverlapsWalk() throws IOException, InterruptedException {
+        AtomicInteger visited = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+        Find find = Find.in(sourceDir).matching("*.txt").filter(path -> {
+            // Hold the walk after the first match until that match has been copied
+            if (visited.incrementAndGet() == 2) {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (isEmptyOrMissing(out)) {
+                    if (System.nanoTime() > deadline) {
+                        overlapped.set(false);
+                        break;
+                    }
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return true;
+                    }
+                }
+            }
+            return true;
+        });
+
+        List<Path> copied = Execute.from(find).copyTo(out).execute();
+
+        assertTrue(overlapped.get(), "The first match was copied before the walk went on");
+        assertEquals(FILE_COUNT / 2, copied.size());
+    }
+
+    @Test
+    @DisplayName("A failing operation stops the run and its error is thrown")
+    public void testFailureStopsWalk() throws IOException {
+        Path notADirectory = Files.writeString(dir.resolve("blocker"), "file");
+
+        assertThrows(IOException.class, () -> Execute.from(Find.in(sourceDir).matching("*"))
+            .moveTo(notADirectory)
+            .execute());
+        try (Stream<Path> remaining = Files.list(sourceDir)) {
+            assertEquals(FILE_COUNT, remaining.count(), "Nothing was moved");
+        }
+    }
+
+    @Test
+    @DisplayName("Operations that need every path at once still see all matches")
+    public void testCollectsForZip() throws IOException {
+        Path zipFile = dir.resolve("archive.zip");
+
+        List<Path> result = Execute.from(Find.in(sourceDir).matching("*.log")).zipTo(zipFile).execute();
+
+        assertEquals(List.of(zipFile), result);
+        try (ZipFile zip = new ZipFile(zipFile.toFile())) {
+            assertEquals(FILE_COUNT / 2, zip.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Searching inside archives cannot be streamed")
+    public void testRejectsArchiveSearch() {
+        assertThrows(IllegalArgumentException.class,
+            () -> Execute.from(Find.in(sourceDir).matching("*").insideArchives()));
+    }
+}
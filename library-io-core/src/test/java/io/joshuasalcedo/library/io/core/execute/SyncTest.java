@@ -0,0 +1,131 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the change detection, orphan deletion and results of {@link Execute#syncTo}.
+ */
+public class SyncTest {
+
+    @TempDir
+    Path dir;
+
+    private Path sourceDir;
+    private Path targetDir;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        sourceDir = Files.createDirectories(dir.resolve("source"));
+        targetDir = dir.resolve("target");
+        Files.writeString(sourceDir.resolve("a.txt"), "alpha");
+        Files.createDirectories(sourceDir.resolve("sub"));
+        Files.writeString(sourceDir.resolve("sub/b.txt"), "beta");
+    }
+
+    private ExecuteReport sync(SyncOptions options) throws IOException {
+        return Execute.on(List.of(sourceDir.resolve("a.txt"), sourceDir.resolve("sub")))
+            .syncTo(targetDir, options)
+            .executeWithReport();
+    }
+
+    /**
+     * Rewrites a target file with different content of the same size and restores its
+     * modification time, so only a content comparison can tell.
+     */
+    private void tamper(Path file, String content) throws IOException {
+        FileTime time = Files.getLastModifiedTime(file);
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, time);
+    }
+
+    @Test
+    @DisplayName("A second sync skips files with matching size and modification time")
+    public void testSkipsUnchanged() throws IOException {
+        ExecuteReport first = sync(SyncOptions.defaults());
+        assertEquals(0, first.getSkippedCount());
+        assertEquals("beta", Files.readString(targetDir.resolve("sub/b.txt")));
+        assertEquals(Files.getLastModifiedTime(sourceDir.resolve("a.txt")).toMillis(),
+            Files.getLastModifiedTime(targetDir.resolve("a.txt")).toMillis(), "Copies keep the source time");
+
+        tamper(targetDir.resolve("a.txt"), "ALPHA");
+        ExecuteReport second = sync(SyncOptions.defaults());
+
+        assertEquals(3, second.getSkippedCount());
+        assertEquals(0, second.getSuccessCount());
+        assertEquals("ALPHA", Files.readString(targetDir.resolve("a.txt")), "Same size and time is trusted");
+    }
+
+    @Test
+    @DisplayName("A changed size or modification time is copied again")
+    public void testCopiesChanged() throws IOException {
+        sync(SyncOptions.defaults());
+        Files.writeString(sourceDir.resolve("sub/b.txt"), "beta, longer");
+
+        ExecuteReport report = sync(SyncOptions.defaults());
+
+        assertEquals(1, report.getSuccessCount());
+        assertEquals("beta, longer", Files.readString(targetDir.resolve("sub/b.txt")));
+    }
+
+    @Test
+    @DisplayName("Content comparison catches a rewrite with unchanged size and time")
+    public void testCompareContent() throws IOException {
+        sync(SyncOptions.defaults());
+        tamper(targetDir.resolve("a.txt"), "ALPHA");
+
+        ExecuteReport report = sync(SyncOptions.defaults().compareContent());
+
+        assertEquals(1, report.getSuccessCount());
+        assertEquals("alpha", Files.readString(targetDir.resolve("a.txt")));
+    }
+
+    @Test
+    @DisplayName("Orphans are deleted only when asked, and a dry run deletes nothing")
+    public void testDeleteOrphans() throws IOException {
+        sync(SyncOptions.defaults());
+        Files.writeString(targetDir.resolve("orphan.txt"), "orphan");
+        Files.createDirectories(targetDir.resolve("sub/old"));
+        Files.writeString(targetDir.resolve("sub/old/c.txt"), "orphan");
+
+        sync(SyncOptions.defaults());
+        assertTrue(Files.exists(targetDir.resolve("orphan.txt")));
+
+        Execute.on(List.of(sourceDir.resolve("a.txt"), sourceDir.resolve("sub")))
+            .dryRun()
+            .withLogger(message -> { })
+            .syncTo(targetDir, SyncOptions.defaults().deleteOrphans())
+            .execute();
+        assertTrue(Files.exists(targetDir.resolve("orphan.txt")));
+
+        sync(SyncOptions.defaults().deleteOrphans());
+        assertFalse(Files.exists(targetDir.resolve("orphan.txt")));
+        assertFalse(Files.exists(targetDir.resolve("sub/old")));
+        assertTrue(Files.exists(targetDir.resolve("a.txt")));
+        assertTrue(Files.exists(targetDir.resolve("sub/b.txt")));
+    }
+
+    @Test
+    @DisplayName("With continueOnError a failed copy is left out of the resulting paths")
+    public void testFailedCopyIsNotReturned() throws IOException {
+        Path missing = sourceDir.resolve("missing.txt");
+
+        ExecuteReport report = Execute.on(List.of(sourceDir.resolve("a.txt"), missing))
+            .continueOnError()
+            .syncTo(targetDir)
+            .executeWithReport();
+
+        assertEquals(List.of(targetDir.resolve("a.txt")), report.getPaths());
+        assertEquals(List.of(missing), report.getFailedPaths());
+    }
+}
@@ -0,0 +1,84 @@
+package io.joshuasalcedo.library.io.core.execute;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests extracting archives with {@link Execute#unzipTo(Path)}.
+ */
+public class UnzipTest {
+
+    @TempDir
+    Path dir;
+
+    private Path zip(String... namesAndContents) throws IOException {
+        Path archive = dir.resolve("archive.zip");
+        try (OutputStream file = Files.newOutputStream(archive);
+             ZipOutputStream zip = new ZipOutputStream(file)) {
+            for (int i = 0; i < namesAndContents.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(namesAndContents[i]));
+                zip.write(namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return archive;
+    }
+
+    @Test
+    @DisplayName("Entries are extracted with their relative paths")
+    public void testExtracts() throws IOException {
+        Path archive = zip("a.txt", "alpha", "sub/b.txt", "beta");
+        Path out = dir.resolve("out");
+
+        List<Path> extracted = Execute.on(archive).unzipTo(out).execute();
+
+        assertEquals(2, extracted.size());
+        assertEquals("alpha", Files.readString(out.resolve("a.txt")));
+        assertEquals("beta", Files.readString(out.resolve("sub/b.txt")));
+    }
+
+    @Test
+    @DisplayName("Entries resolving to the same file are written once, by the last entry")
+    public void testSameOutputWrittenOnce() throws IOException {
+        Path archive = zip("a.txt", "first", "sub/../a.txt", "second", "b.txt", "beta");
+        Path out = dir.resolve("out");
+
+        ExecuteReport report = Execute.on(archive).unzipTo(out).executeWithReport();
+
+        assertEquals("second", Files.readString(out.resolve("a.txt")));
+        assertEquals(List.of(out.resolve("a.txt").toAbsolutePath(), out.resolve("b.txt").toAbsolutePath()),
+            report.getPaths());
+        assertEquals(1, report.getSkippedCount());
+        assertEquals(2, report.getSuccessCount());
+    }
+
+    @Test
+    @DisplayName("Entries outside the target directory are rejected and other paths are skipped")
+    public void testZipSlipAndNonArchives() throws IOException {
+        Path archive = zip("../evil.txt", "evil", "good.txt", "good");
+        Path text = Files.writeString(dir.resolve("notes.txt"), "not an archive");
+        Path out = dir.resolve("out");
+
+        ExecuteReport report = Execute.on(List.of(archive, text))
+            .continueOnError()
+            .unzipTo(out)
+            .executeWithReport();
+
+        assertFalse(Files.exists(dir.resolve("evil.txt")));
+        assertEquals("good", Files.readString(out.resolve("good.txt")));
+        assertEquals(1, report.getFailureCount());
+        assertEquals(1, report.getSkippedCount());
+    }
+}
@@ -0,0 +1,79 @@
+package io.joshuasalcedo.library.io.core.find;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests searching the entries of archives with {@link Find#insideArchives()}.
+ */
+public class FindInsideArchivesTest {
+
+    @TempDir
+    Path dir;
+
+    private static void writeJar(Path jar, String entryName, byte[] content) throws IOException {
+        try (OutputStream file = Files.newOutputStream(jar);
+             ZipOutputStream zip = new ZipOutputStream(file)) {
+            zip.putNextEntry(new ZipEntry(entryName));
+            zip.write(content);
+            zip.closeEntry();
+        }
+    }
+
+    /**
+     * Returns bytes that look like a class file: binary, and not valid UTF-8.
+     */
+    private static byte[] classBytes(String constant) {
+        byte[] text = constant.getBytes(StandardCharsets.ISO_8859_1);
+        byte[] bytes = new byte[text.length + 8];
+        bytes[0] = (byte) 0xCA;
+        bytes[1] = (byte) 0xFE;
+        bytes[2] = (byte) 0xBA;
+        bytes[3] = (byte) 0xBE;
+        System.arraycopy(text, 0, bytes, 8, text.length);
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("Class file entries inside a jar are content-searched")
+    public void testContentSearchInClassEntries() throws IOException {
+        writeJar(dir.resolve("hit.jar"), "com/example/Hit.class", classBytes("jdbc:postgresql://db"));
+        writeJar(dir.resolve("miss.jar"), "com/example/Miss.class", classBytes("nothing to see"));
+
+        List<Path> matches = Find.in(dir)
+            .matching("*.class")
+            .containing("jdbc:postgresql")
+            .insideArchives()
+            .execute();
+
+        assertEquals(1, matches.size());
+        assertEquals("Hit.class", matches.get(0).getFileName().toString());
+        assertTrue(matches.get(0).toUri().toString().contains("hit.jar"));
+    }
+
+    @Test
+    @DisplayName("Class files outside archives are still skipped by content search")
+    public void testPlainClassFilesSkipped() throws IOException {
+        Files.write(dir.resolve("Plain.class"), classBytes("jdbc:postgresql://db"));
+
+        List<Path> matches = Find.in(dir)
+            .matching("*.class")
+            .containing("jdbc:postgresql")
+            .insideArchives()
+            .execute();
+
+        assertTrue(matches.isEmpty());
+    }
+}
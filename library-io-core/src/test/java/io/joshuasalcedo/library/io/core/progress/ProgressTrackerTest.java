@@ -0,0 +1,135 @@
+package io.joshuasalcedo.library.io.core.progress;
+
+import io.joshuasalcedo.library.io.core.execute.Execute;
+import io.joshuasalcedo.library.io.core.find.Find;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests sampling with {@link ProgressTracker} and the progress reported by Execute and Find.
+ */
+public class ProgressTrackerTest {
+
+    @TempDir
+    Path dir;
+
+    private List<Path> files() throws IOException {
+        return List.of(
+            Files.writeString(dir.resolve("a.txt"), "12345"),
+            Files.writeString(dir.resolve("b.txt"), "123"),
+            Files.writeString(dir.resolve("c.txt"), "12"));
+    }
+
+    @Test
+    @DisplayName("The timer samples the counters and the final sample comes last")
+    public void testSamplesThenFinal() throws InterruptedException {
+        List<Progress> samples = new CopyOnWriteArrayList<>();
+        CountDownLatch sampled = new CountDownLatch(1);
+
+        try (ProgressTracker tracker = ProgressTracker.start(progress -> {
+            samples.add(progress);
+            sampled.countDown();
+        }, Duration.ofMillis(10))) {
+            tracker.addTotal(4, -1);
+            tracker.advance(1, 100);
+            assertTrue(sampled.await(5, TimeUnit.SECONDS));
+            tracker.advance(3, 300);
+        }
+        int count = samples.size();
+        Thread.sleep(50);
+
+        assertEquals(count, samples.size(), "No samples after close");
+        assertFalse(samples.get(0).done());
+        Progress last = samples.get(count - 1);
+        assertTrue(last.done());
+        assertEquals(4, last.items());
+        assertEquals(400, last.bytes());
+        assertEquals(4, last.totalItems());
+        assertEquals(-1, last.totalBytes());
+        assertEquals(samples.size() - 1, samples.stream().filter(p -> !p.done()).count());
+    }
+
+    @Test
+    @DisplayName("A failing listener still receives the final sample")
+    public void testFailingListener() {
+        List<Progress> samples = new CopyOnWriteArrayList<>();
+
+        ProgressTracker tracker = ProgressTracker.start(progress -> {
+            samples.add(progress);
+            throw new IllegalStateException("listener failure");
+        }, Duration.ofMillis(1));
+        tracker.advance(1, 1);
+        tracker.close();
+        tracker.close();
+
+        assertEquals(1, samples.stream().filter(Progress::done).count());
+    }
+
+    @Test
+    @DisplayName("The fraction prefers bytes, and the ETA follows the average throughput")
+    public void testFractionAndEta() {
+        Progress byBytes = new Progress(1, 250, 10, 1000, Duration.ofSeconds(1), false);
+        assertEquals(0.25, byBytes.fraction().orElseThrow(), 1e-9);
+        assertEquals(Duration.ofSeconds(3), byBytes.eta().orElseThrow());
+        assertEquals(250, byBytes.bytesPerSecond(), 1e-9);
+
+        Progress byItems = new Progress(5, 0, 10, -1, Duration.ofSeconds(2), false);
+        assertEquals(0.5, byItems.fraction().orElseThrow(), 1e-9);
+        assertEquals(Duration.ofSeconds(2), byItems.eta().orElseThrow());
+
+        Progress unknown = new Progress(5, 50, -1, -1, Duration.ofSeconds(1), false);
+        assertTrue(unknown.fraction().isEmpty());
+        assertTrue(unknown.eta().isEmpty());
+        assertEquals(Duration.ZERO, new Progress(5, 50, -1, -1, Duration.ofSeconds(1), true).eta().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Execute reports every processed path and its bytes in the final sample")
+    public void testExecuteProgress() throws IOException {
+        List<Progress> samples = new CopyOnWriteArrayList<>();
+
+        Execute.on(files())
+            .withProgress(samples::add, Duration.ofMillis(5))
+            .copyTo(dir.resolve("out"))
+            .execute();
+
+        Progress last = samples.get(samples.size() - 1);
+        assertTrue(last.done());
+        assertEquals(3, last.items());
+        assertEquals(3, last.totalItems());
+        assertEquals(10, last.bytes());
+        assertEquals(1.0, last.fraction().orElseThrow(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Find counts every visited file, matching or not, without a total")
+    public void testFindProgress() throws IOException {
+        files();
+        Files.writeString(dir.resolve("d.log"), "1234");
+        List<Progress> samples = new CopyOnWriteArrayList<>();
+
+        List<Path> found = Find.in(dir)
+            .matching("*.txt")
+            .withProgress(samples::add, Duration.ofMillis(5))
+            .execute();
+
+        assertEquals(3, found.size());
+        Progress last = samples.get(samples.size() - 1);
+        assertTrue(last.done());
+        assertEquals(4, last.items());
+        assertEquals(14, last.bytes());
+        assertEquals(-1, last.totalItems());
+    }
+}
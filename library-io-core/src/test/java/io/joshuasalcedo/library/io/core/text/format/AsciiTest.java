@@ -0,0 +1,145 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the ASCII fast paths give the same results as the JDK conversions they
+ * replace, across the 8-byte word and 64-character SWAR boundaries.
+ */
+public class AsciiTest {
+
+    /** Lengths on both sides of the SWAR threshold and of 8-byte word boundaries. */
+    private static final int[] LENGTHS = {0, 1, 7, 8, 9, 15, 16, 17, 62, 63, 64, 65, 71, 72, 73, 127, 128, 129};
+
+    /** Non-ASCII characters: Latin-1, Latin-1 with a non-Latin-1 upper case, and beyond Latin-1. */
+    private static final char[] NON_ASCII = {'\u00E9', '\u00DF', '\u00FF', '\u0131', '\u03C3', '\u20AC'};
+
+    private Locale defaultLocale;
+
+    @BeforeEach
+    public void setUp() {
+        defaultLocale = Locale.getDefault();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    /**
+     * Builds ASCII text of the given length cycling through all 128 ASCII characters,
+     * starting at the given one, so every byte value appears at every word offset.
+     */
+    private static String ascii(int length, int start) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ((start + i) % 128));
+        }
+        return text.toString();
+    }
+
+    private static void assertSameCase(String text) throws IOException {
+        assertEquals(text.toUpperCase(), Ascii.toUpperCase(text), "toUpperCase of " + text);
+        assertEquals(text.toLowerCase(), Ascii.toLowerCase(text), "toLowerCase of " + text);
+
+        StringBuilder upper = new StringBuilder();
+        Ascii.appendCase(text, true, upper);
+        assertEquals(text.toUpperCase(), upper.toString(), "appendCase upper of " + text);
+        StringBuilder lower = new StringBuilder();
+        Ascii.appendCase(text, false, lower);
+        assertEquals(text.toLowerCase(), lower.toString(), "appendCase lower of " + text);
+    }
+
+    @Test
+    @DisplayName("Every ASCII character converts like the JDK at every length and offset")
+    public void testAllAsciiAcrossBoundaries() throws IOException {
+        for (int length : LENGTHS) {
+            for (int start = 0; start < 128; start += 7) {
+                assertSameCase(ascii(length, start));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Letters next to the range bounds are left alone")
+    public void testRangeBounds() throws IOException {
+        String bounds = "@AZ[`az{";
+        assertSameCase(bounds.repeat(8));
+        assertSameCase(bounds.repeat(9));
+        assertEquals("@AZ[`AZ{".repeat(9), Ascii.toUpperCase(bounds.repeat(9)));
+        assertEquals("@az[`az{".repeat(9), Ascii.toLowerCase(bounds.repeat(9)));
+    }
+
+    @Test
+    @DisplayName("Unchanged text is returned as the same instance")
+    public void testUnchangedIsSameInstance() {
+        String upper = "HELLO WORLD 0123456789 ".repeat(4);
+        String lower = upper.toLowerCase();
+        assertSame(upper, Ascii.toUpperCase(upper));
+        assertSame(lower, Ascii.toLowerCase(lower));
+    }
+
+    @Test
+    @DisplayName("A non-ASCII character at any offset falls back to the JDK conversion")
+    public void testNonAsciiAtEachOffset() throws IOException {
+        for (int length : new int[] {8, 9, 63, 64, 65, 72, 73}) {
+            String base = "aBcDeFgHiJ".repeat(8).substring(0, length);
+            for (int offset = 0; offset < length; offset++) {
+                for (char c : NON_ASCII) {
+                    char[] chars = base.toCharArray();
+                    chars[offset] = c;
+                    assertSameCase(new String(chars));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Turkish, Azerbaijani and Lithuanian locales convert like the JDK")
+    public void testSpecialCasingLocales() throws IOException {
+        String text = "Istanbul is in Turkey, Iiiii iIiIi ".repeat(4);
+        for (String language : new String[] {"tr", "az", "lt"}) {
+            Locale.setDefault(Locale.forLanguageTag(language));
+            assertSameCase(text);
+            assertSameCase(text.substring(0, 9));
+        }
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        assertTrue(Ascii.toUpperCase(text).contains("\u0130"), "Turkish dotted capital I is expected");
+    }
+
+    @Test
+    @DisplayName("Whitespace removal matches \\s at every position")
+    public void testRemoveWhitespace() throws IOException {
+        String whitespace = " \t\n\u000B\f\r";
+        for (int length : LENGTHS) {
+            String base = ascii(length, 'A');
+            for (int offset = 0; offset < length; offset++) {
+                char[] chars = base.toCharArray();
+                chars[offset] = whitespace.charAt(offset % whitespace.length());
+                String text = new String(chars);
+                String expected = text.replaceAll("\\s", "");
+
+                assertEquals(expected, Ascii.removeWhitespace(text), "removeWhitespace of " + text);
+                StringBuilder out = new StringBuilder();
+                Ascii.appendWithoutWhitespace(text, out);
+                assertEquals(expected, out.toString(), "appendWithoutWhitespace of " + text);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Whitespace outside \\s, such as no-break and em spaces, is kept")
+    public void testNonAsciiWhitespaceKept() {
+        String text = "a\u00A0b\u2003c\u0085d";
+        assertSame(text, Ascii.removeWhitespace(text));
+        assertEquals("abc", Ascii.removeWhitespace(" a\tb\r\nc "));
+    }
+}
@@ -0,0 +1,130 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.joshuasalcedo.library.io.core.text.format.TextFormatter.CaseType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests hits, eviction and statistics of a {@link CaseCache}.
+ */
+public class CaseCacheTest {
+
+    @Test
+    @DisplayName("Repeated conversions are hits and the hit rate follows")
+    public void testHitRate() {
+        CaseCache cache = CaseCache.create(10);
+        assertEquals(0, cache.hitRate(), 0);
+
+        assertEquals("user_account_id", cache.convert("userAccountId", SNAKE_CASE));
+        assertEquals("user_account_id", cache.convert("userAccountId", SNAKE_CASE));
+        assertEquals("user_account_id", cache.convert("userAccountId", SNAKE_CASE));
+        assertEquals("user-account-id", cache.convert("userAccountId", KEBAB_CASE));
+
+        assertEquals(2, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(0.5, cache.hitRate(), 1e-9);
+        assertEquals(2, cache.size(), "Each case type has its own entry");
+    }
+
+    @Test
+    @DisplayName("Text above the length limit is converted without being cached or counted")
+    public void testLongTextNotCached() {
+        CaseCache cache = CaseCache.create(10);
+        String longText = "someWord".repeat(CaseCache.MAX_CACHED_LENGTH / 8 + 1);
+
+        String converted = cache.convert(longText, SNAKE_CASE);
+
+        assertEquals(TextFormat.of(longText).toSnakeCase().get(), converted);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("A full cache evicts the first entry not used since the clock hand passed")
+    public void testClockEviction() {
+        CaseCache cache = CaseCache.create(3);
+        cache.convert("alpha", UPPER_CASE);
+        cache.convert("beta", UPPER_CASE);
+        cache.convert("gamma", UPPER_CASE);
+        cache.convert("alpha", UPPER_CASE);
+
+        cache.convert("delta", UPPER_CASE);
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictionCount());
+        long hits = cache.hitCount();
+        cache.convert("alpha", UPPER_CASE);
+        cache.convert("gamma", UPPER_CASE);
+        cache.convert("delta", UPPER_CASE);
+        assertEquals(hits + 3, cache.hitCount(), "The used entry survived, the unused one was evicted");
+        long misses = cache.missCount();
+        assertEquals("BETA", cache.convert("beta", UPPER_CASE));
+        assertEquals(misses + 1, cache.missCount());
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    @DisplayName("Clearing empties the cache but keeps the counts")
+    public void testClear() {
+        CaseCache cache = CaseCache.create(5);
+        cache.convert("fooBar", SNAKE_CASE);
+        cache.convert("fooBar", SNAKE_CASE);
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.hitCount());
+        cache.convert("fooBar", SNAKE_CASE);
+        assertEquals(2, cache.missCount());
+        assertThrows(IllegalArgumentException.class, () -> CaseCache.create(0));
+    }
+
+    @Test
+    @DisplayName("TextFormat and compiled pipelines convert through the cache")
+    public void testUsedByTextFormatAndPipeline() {
+        CaseCache cache = CaseCache.create(100);
+
+        assertEquals("order_id", TextFormat.of("orderId").withCaseCache(cache).toSnakeCase().get());
+        TextPipeline column = TextFormat.pipeline().withCaseCache(cache).toSnakeCase().compile();
+        assertEquals("order_id", column.apply("orderId"));
+
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent conversions stay correct while entries are evicted")
+    public void testConcurrentEviction() throws Exception {
+        CaseCache cache = CaseCache.create(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        int key = i % 200;
+                        assertEquals("field" + key + "_name", cache.convert("field" + key + "Name", SNAKE_CASE));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(cache.size() <= cache.maximumSize());
+        assertEquals(8 * 20_000, cache.hitCount() + cache.missCount());
+        assertTrue(cache.evictionCount() > 0);
+    }
+}
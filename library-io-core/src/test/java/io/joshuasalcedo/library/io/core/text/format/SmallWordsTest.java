@@ -0,0 +1,95 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the case-insensitive small word set used by title case.
+ */
+public class SmallWordsTest {
+
+    @Test
+    @DisplayName("English small words are found inside a longer text, ignoring case")
+    public void testEnglishLookup() {
+        String text = "Out OF the Frying Pan";
+
+        assertFalse(SmallWords.ENGLISH.contains(text, 0, 3));
+        assertTrue(SmallWords.ENGLISH.contains(text, 4, 6));
+        assertTrue(SmallWords.ENGLISH.contains(text, 7, 10));
+        assertFalse(SmallWords.ENGLISH.contains(text, 11, 17));
+        assertFalse(SmallWords.ENGLISH.contains(text, 4, 5), "A prefix of a word is not the word");
+    }
+
+    @Test
+    @DisplayName("Words with equal hashes are built without hanging and both are found")
+    public void testEqualHashes() {
+        // "az" and "b[" have the same 31-based hash
+        SmallWords words = assertTimeoutPreemptively(Duration.ofSeconds(5),
+            () -> SmallWords.of(List.of("az", "b[")));
+
+        assertTrue(words.contains("az", 0, 2));
+        assertTrue(words.contains("AZ", 0, 2));
+        assertTrue(words.contains("b[", 0, 2));
+        assertFalse(words.contains("ba", 0, 2));
+    }
+
+    @Test
+    @DisplayName("Equal hashes among many other words keep every word findable")
+    public void testEqualHashesAmongOthers() {
+        List<String> list = new ArrayList<>(List.of("az", "b[", "Aa", "BB"));
+        for (int i = 0; i < 200; i++) {
+            list.add("w" + i);
+        }
+        SmallWords words = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> SmallWords.of(list));
+
+        for (String word : list) {
+            assertTrue(words.contains(word, 0, word.length()), word);
+        }
+        assertFalse(words.contains("w200", 0, 4));
+    }
+
+    @Test
+    @DisplayName("A set built once gives the same titles as passing the words each time")
+    public void testReusableSet() {
+        Set<String> french = Set.of("le", "la", "les", "des", "de", "du");
+        SmallWords built = SmallWords.of(french);
+
+        assertTrue(built.contains("DES"));
+        assertFalse(built.contains("anneaux"));
+        assertFalse(built.contains(null));
+        assertEquals("Le Seigneur des Anneaux",
+            TextFormat.of("le seigneur des anneaux").toTitleCase(Locale.FRENCH, built).get());
+        assertEquals(TextFormat.of("le seigneur des anneaux").toTitleCase(Locale.FRENCH, french).get(),
+            TextFormat.of("le seigneur des anneaux").toTitleCase(Locale.FRENCH, built).get());
+        assertThrows(IllegalArgumentException.class,
+            () -> TextFormat.of("x").toTitleCase(Locale.FRENCH, (SmallWords) null));
+    }
+
+    @Test
+    @DisplayName("Passing the same words again reuses the set built last")
+    public void testSameWordsReuseLastSet() {
+        Set<String> words = Set.of("alpha", "beta", "gamma");
+        SmallWords first = SmallWords.ofCached(words);
+
+        assertSame(first, SmallWords.ofCached(Set.of("gamma", "beta", "alpha")));
+        SmallWords other = SmallWords.ofCached(Set.of("alpha", "beta"));
+        assertNotSame(first, other);
+        assertFalse(other.contains("gamma"));
+        assertTrue(SmallWords.ofCached(words).contains("gamma"));
+    }
+
+    @Test
+    @DisplayName("Null and empty words are rejected")
+    public void testInvalidWords() {
+        assertThrows(IllegalArgumentException.class, () -> SmallWords.of(null));
+        assertThrows(IllegalArgumentException.class, () -> SmallWords.of(List.of("")));
+    }
+}
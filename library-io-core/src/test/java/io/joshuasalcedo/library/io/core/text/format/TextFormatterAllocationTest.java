@@ -0,0 +1,155 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests how many bytes the shared formatter allocates per call, with limits given in
+ * result String footprints so they hold for any heap layout.
+ */
+public class TextFormatterAllocationTest {
+
+    private static final int WARMUP_CALLS = 200_000;
+    private static final int MEASURED_CALLS = 100_000;
+
+    private static final TextFormatter FORMATTER = TextFormatterImpl.INSTANCE;
+
+    /** Keeps results reachable so the JIT cannot drop the allocations being measured. */
+    static volatile Object sink;
+
+    private static com.sun.management.ThreadMXBean threads() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the average number of bytes allocated by one call, or -1 if the JVM cannot
+     * measure it.
+     */
+    static double bytesPerCall(Supplier<Object> call) {
+        com.sun.management.ThreadMXBean threads = threads();
+        if (threads == null) {
+            return -1;
+        }
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink = call.get();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            sink = call.get();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / (double) MEASURED_CALLS;
+    }
+
+    /**
+     * Returns the bytes taken by a String with the given content: the String and its
+     * value array, without any temporary.
+     */
+    static double footprint(String value) {
+        char[] chars = value.toCharArray();
+        return bytesPerCall(() -> new String(chars));
+    }
+
+    static void assertAllocatesAtMost(double limit, Supplier<Object> call, String what) {
+        double allocated = bytesPerCall(call);
+        if (allocated >= 0) {
+            assertTrue(allocated <= limit + 1, what + " allocated " + allocated + " bytes per call, limit " + limit);
+        }
+    }
+
+    @Test
+    @DisplayName("The case converter is shared, so getting it allocates nothing")
+    public void testCaseConverterIsShared() {
+        assertSame(FORMATTER.getCaseConverter(), FORMATTER.getCaseConverter());
+        assertAllocatesAtMost(0, FORMATTER::getCaseConverter, "getCaseConverter");
+    }
+
+    @Test
+    @DisplayName("Upper and lower case allocate nothing but the result")
+    public void testUpperLowerCaseAllocatesOnlyResult() {
+        String text = "hello world";
+        double result = footprint(text.toUpperCase());
+
+        assertAllocatesAtMost(result, () -> FORMATTER.toCase(text, TextFormatter.CaseType.UPPER_CASE), "UPPER_CASE");
+        assertAllocatesAtMost(result, () -> FORMATTER.toCase("HELLO WORLD", TextFormatter.CaseType.LOWER_CASE),
+            "LOWER_CASE");
+    }
+
+    @Test
+    @DisplayName("Identifier cases allocate the result and at most one working buffer")
+    public void testIdentifierCasesAllocateOneBuffer() {
+        String text = "userAccountId";
+        for (TextFormatter.CaseType caseType : new TextFormatter.CaseType[] {
+                TextFormatter.CaseType.SNAKE_CASE, TextFormatter.CaseType.KEBAB_CASE,
+                TextFormatter.CaseType.CAMEL_CASE, TextFormatter.CaseType.PASCAL_CASE}) {
+            double result = footprint(FORMATTER.toCase(text, caseType));
+            assertAllocatesAtMost(2 * result, () -> FORMATTER.toCase(text, caseType), caseType.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Case checks allocate nothing")
+    public void testIsCaseAllocatesNothing() {
+        TextFormatter.CaseConverter converter = FORMATTER.getCaseConverter();
+        assertAllocatesAtMost(0, () -> converter.isCase("user_account_id", TextFormatter.CaseType.SNAKE_CASE),
+            "isCase SNAKE_CASE");
+        assertAllocatesAtMost(0, () -> converter.isCase("userAccountId", TextFormatter.CaseType.CAMEL_CASE),
+            "isCase CAMEL_CASE");
+    }
+
+    @Test
+    @DisplayName("Repeat allocates nothing but the result")
+    public void testRepeatAllocatesOnlyResult() {
+        double result = footprint("ab".repeat(30));
+        assertAllocatesAtMost(result, () -> FORMATTER.repeat("ab", 30), "repeat");
+    }
+
+    @Test
+    @DisplayName("Padding allocates the result and one fill buffer")
+    public void testPadAllocatesOneBuffer() {
+        double result = footprint(FORMATTER.padLeft("42", 10, '0'));
+        assertAllocatesAtMost(2 * result, () -> FORMATTER.padLeft("42", 10, '0'), "padLeft");
+        assertAllocatesAtMost(2 * result, () -> FORMATTER.padRight("42", 10, ' '), "padRight");
+    }
+
+    @Test
+    @DisplayName("Replacing allocates only the result, and nothing when there is no match")
+    public void testReplaceAllAllocatesOnlyResult() {
+        String text = "a-b-c-d";
+        assertSame(text, FORMATTER.replaceAll(text, "_", "+"));
+        assertAllocatesAtMost(0, () -> FORMATTER.replaceAll(text, "_", "+"), "replaceAll without match");
+
+        double result = footprint(text.replace("-", "+"));
+        assertAllocatesAtMost(result, () -> FORMATTER.replaceAll(text, "-", "+"), "replaceAll");
+    }
+
+    @Test
+    @DisplayName("Reverse and wrap build the result in a single buffer")
+    public void testReverseAndWrapUseOneBuffer() {
+        String text = "the quick brown fox jumps over the lazy dog";
+        double reversed = footprint(FORMATTER.reverse(text));
+        assertAllocatesAtMost(3 * reversed, () -> FORMATTER.reverse(text), "reverse");
+
+        double wrapped = footprint(FORMATTER.wrap(text, 10));
+        assertAllocatesAtMost(3 * wrapped, () -> FORMATTER.wrap(text, 10), "wrap");
+    }
+
+    @Test
+    @DisplayName("Counting words and checking for blank text allocate nothing")
+    public void testCountWordsAndIsBlankAllocateNothing() {
+        String text = "  the quick\tbrown  fox\n";
+        assertEquals(4, FORMATTER.countWords(text));
+        assertAllocatesAtMost(0, () -> FORMATTER.countWords(text), "countWords");
+        assertAllocatesAtMost(0, () -> FORMATTER.isBlank(" \t\n "), "isBlank blank");
+        assertAllocatesAtMost(0, () -> FORMATTER.isBlank(text), "isBlank");
+    }
+}
@@ -0,0 +1,122 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests recording and compiling operations with {@link TextFormat#pipeline()} and
+ * {@link TextFormat#lazy(String)}, and batch formatting with {@code applyAll}.
+ */
+public class TextPipelineTest {
+
+    @Test
+    @DisplayName("Reading a recording instance does not drop operations from compile")
+    public void testCompileAfterRead() {
+        TextFormat recording = TextFormat.lazy("userAccountId").toSnakeCase().prepend("col_");
+
+        assertEquals("col_user_account_id", recording.get());
+        assertEquals(19, recording.length());
+        TextPipeline pipeline = recording.compile();
+
+        assertEquals("col_order_id", pipeline.apply("orderId"));
+        assertEquals("col_user_account_id", recording.toString());
+    }
+
+    @Test
+    @DisplayName("Recording after a read applies only the new operations to the text")
+    public void testRecordAfterRead() {
+        TextFormat recording = TextFormat.lazy("a").append("b");
+        assertEquals("ab", recording.get());
+
+        recording.append("c").toUpperCase();
+
+        assertEquals("ABC", recording.get());
+        assertEquals("XBC", recording.compile().apply("x"));
+    }
+
+    @Test
+    @DisplayName("An affix recorded after a read is not merged into one already applied")
+    public void testAffixAfterRead() {
+        TextFormat recording = TextFormat.lazy("x").append("1");
+        assertEquals("x1", recording.get());
+
+        recording.append("2");
+
+        assertEquals("x12", recording.get());
+        assertEquals("y12", recording.compile().apply("y"));
+    }
+
+    @Test
+    @DisplayName("appendTo writes the result and keeps every operation for compile")
+    public void testAppendToKeepsOperations() throws IOException {
+        TextFormat recording = TextFormat.lazy("hello world").toUpperCase().surround("[", "]");
+
+        assertEquals("> [HELLO WORLD]", recording.appendTo(new StringBuilder("> ")).toString());
+        assertEquals("[HELLO WORLD]", recording.appendTo(new StringBuilder()).toString());
+        assertEquals("[HELLO WORLD]", recording.get());
+        assertEquals("[BYE]", recording.compile().apply("bye"));
+    }
+
+    private static String[] texts(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "item" + i + "Name").toArray(String[]::new);
+    }
+
+    @Test
+    @DisplayName("applyAll keeps the input order in arrays, lists and streams")
+    public void testApplyAllOrder() {
+        TextPipeline pipeline = TextFormat.pipeline().toSnakeCase().surround("<", ">").compile();
+        String[] texts = texts(100_000);
+        texts[5000] = null;
+        String[] original = texts.clone();
+
+        String[] results = pipeline.applyAll(texts);
+
+        assertArrayEquals(original, texts, "The input is not modified");
+        assertEquals(texts.length, results.length);
+        for (int i = 0; i < texts.length; i++) {
+            assertEquals(pipeline.apply(texts[i]), results[i], "Index " + i);
+        }
+        assertEquals("<>", results[5000]);
+        assertEquals(Arrays.asList(results), pipeline.applyAll(Arrays.asList(texts)));
+        assertEquals(List.of("<a_b>", "<c_d>"),
+            pipeline.applyAll(List.of("aB", "cD").stream()).collect(Collectors.toList()));
+        assertEquals(0, pipeline.applyAll(new String[0]).length);
+    }
+
+    @Test
+    @DisplayName("applyAll stays on the calling thread up to the parallel threshold")
+    public void testApplyAllParallelThreshold() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        TextPipeline pipeline = TextFormat.pipeline()
+            .transform(text -> {
+                threads.add(Thread.currentThread());
+                return text;
+            })
+            .toUpperCase()
+            .compile();
+
+        String[] small = pipeline.applyAll(texts(1024));
+
+        assertEquals(Set.of(Thread.currentThread()), threads);
+        assertEquals("ITEM1023NAME", small[1023]);
+
+        threads.clear();
+        String[] large = pipeline.applyAll(texts(200_000));
+
+        assertEquals("ITEM199999NAME", large[199_999]);
+        if (ForkJoinPool.commonPool().getParallelism() > 1) {
+            assertTrue(threads.size() > 1, "Large batches are split across threads");
+        }
+    }
+}
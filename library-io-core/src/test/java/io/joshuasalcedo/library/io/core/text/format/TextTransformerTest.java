@@ -0,0 +1,127 @@
+package io.joshuasalcedo.library.io.core.text.format;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests line handling and parallel chunking of {@link TextTransformer}.
+ */
+public class TextTransformerTest {
+
+    @TempDir
+    Path dir;
+
+    private static final TextPipeline UPPER = TextFormat.pipeline().toUpperCase().compile();
+
+    /**
+     * A reader that returns at most a few characters per read, so lines and CRLF
+     * terminators span several reads.
+     */
+    private static Reader trickle(String text, int maxRead) {
+        return new StringReader(text) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, maxRead));
+            }
+        };
+    }
+
+    private static String transform(TextTransformer transformer, Reader in) throws IOException {
+        StringWriter out = new StringWriter();
+        transformer.transform(in, out);
+        return out.toString();
+    }
+
+    @Test
+    @DisplayName("LF and CRLF terminators are kept, and a last line without one stays without")
+    public void testTerminators() throws IOException {
+        StringWriter out = new StringWriter();
+
+        long lines = TextTransformer.of(UPPER).transform(new StringReader("a\r\nb\n\nc\r\n\r\nd"), out);
+
+        assertEquals(6, lines);
+        assertEquals("A\r\nB\n\nC\r\n\r\nD", out.toString());
+        assertEquals("A\n", transform(TextTransformer.of(UPPER), new StringReader("a\n")));
+        assertEquals("", transform(TextTransformer.of(UPPER), new StringReader("")));
+        assertEquals("A\rB\n", transform(TextTransformer.of(UPPER), new StringReader("a\rb\n")),
+            "A lone carriage return is part of the line");
+    }
+
+    @Test
+    @DisplayName("Lines and CRLF terminators split across reads are put back together")
+    public void testLinesAcrossReads() throws IOException {
+        String text = "first line\r\nsecond\nthird line\r\nlast";
+        for (int maxRead = 1; maxRead <= 5; maxRead++) {
+            assertEquals("FIRST LINE\r\nSECOND\nTHIRD LINE\r\nLAST",
+                transform(TextTransformer.of(UPPER), trickle(text, maxRead)), "Reads of " + maxRead);
+        }
+    }
+
+    @Test
+    @DisplayName("Lines longer than the internal buffers are transformed whole")
+    public void testLongLines() throws IOException {
+        String longLine = "x".repeat(200_000);
+        String text = "short\n" + longLine + "\r\n" + "y".repeat(70_000);
+
+        String result = transform(TextTransformer.of(UPPER), new StringReader(text));
+
+        assertEquals("SHORT\n" + longLine.toUpperCase() + "\r\n" + "Y".repeat(70_000), result);
+    }
+
+    @Test
+    @DisplayName("Parallel chunks split at line boundaries and are written in file order")
+    public void testParallelMatchesSequential() throws IOException {
+        Path source = dir.resolve("source.txt");
+        long expectedLines = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(source, StandardCharsets.UTF_8)) {
+            // About 20MB, so the file is split into three chunks
+            while (expectedLines < 1_000_000) {
+                writer.write("line " + expectedLines + " caf\u00e9");
+                writer.write(expectedLines % 3 == 0 ? "\r\n" : "\n");
+                expectedLines++;
+            }
+            writer.write("unterminated");
+            expectedLines++;
+        }
+        assertTrue(Files.size(source) > 16L * 1024 * 1024);
+        Path parallel = dir.resolve("parallel.txt");
+
+        long lines = TextTransformer.of(UPPER).parallelAbove(0).transform(source, parallel);
+
+        ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+        TextTransformer.of(UPPER).transform(new ByteArrayInputStream(Files.readAllBytes(source)), sequential);
+        assertEquals(expectedLines, lines);
+        assertArrayEquals(sequential.toByteArray(), Files.readAllBytes(parallel));
+        assertTrue(Files.readString(parallel).startsWith("LINE 0 CAF\u00c9\r\nLINE 1 CAF\u00c9\n"));
+    }
+
+    @Test
+    @DisplayName("Charsets without a single-byte newline are processed sequentially")
+    public void testMultiByteCharsetFallsBack() throws IOException {
+        Path source = Files.writeString(dir.resolve("utf16.txt"), "one\r\ntwo\nthree", StandardCharsets.UTF_16);
+        Path target = dir.resolve("out.txt");
+
+        long lines = TextTransformer.of(UPPER)
+            .withCharset(StandardCharsets.UTF_16)
+            .parallelAbove(0)
+            .transform(source, target);
+
+        assertEquals(3, lines);
+        assertEquals("ONE\r\nTWO\nTHREE", Files.readString(target, StandardCharsets.UTF_16));
+        assertThrows(IllegalArgumentException.class, () -> TextTransformer.of(UPPER).transform(source, source));
+    }
+}